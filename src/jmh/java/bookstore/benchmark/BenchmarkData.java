@@ -0,0 +1,83 @@
+package bookstore.benchmark;
+
+import bookstore.model.Book;
+import bookstore.model.CartItem;
+import bookstore.model.Category;
+import bookstore.model.Order;
+import bookstore.model.OrderItem;
+import bookstore.model.ShoppingCart;
+import bookstore.model.User;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+final class BenchmarkData {
+    static final int LINES = 10;
+
+    private BenchmarkData() {
+    }
+
+    static Book book(long id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Harry Potter " + id);
+        book.setAuthor("J Rowling");
+        book.setIsbn("123456-" + id);
+        book.setPrice(BigDecimal.valueOf(2359 + id, 2));
+        book.setDescription("Awesome book");
+        for (long categoryId = 1; categoryId <= 3; categoryId++) {
+            Category category = new Category();
+            category.setId(categoryId);
+            category.setName("Category " + categoryId);
+            book.getCategories().add(category);
+        }
+        return book;
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("bob@gmail.com");
+        return user;
+    }
+
+    static ShoppingCart shoppingCart() {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.setId(1L);
+        shoppingCart.setUser(user());
+        Set<CartItem> cartItems = new HashSet<>();
+        for (long id = 1; id <= LINES; id++) {
+            CartItem cartItem = new CartItem();
+            cartItem.setId(id);
+            cartItem.setShoppingCart(shoppingCart);
+            cartItem.setBook(book(id));
+            cartItem.setQuantity(2);
+            cartItems.add(cartItem);
+        }
+        shoppingCart.setCartItems(cartItems);
+        return shoppingCart;
+    }
+
+    static Order order() {
+        Order order = new Order();
+        order.setId(1L);
+        order.setUser(user());
+        order.setStatus(Order.Status.PENDING);
+        order.setTotal(BigDecimal.valueOf(47180, 2));
+        order.setOrderDate(LocalDateTime.now());
+        order.setShippingAddress("Some address");
+        Set<OrderItem> orderItems = new HashSet<>();
+        for (long id = 1; id <= LINES; id++) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setId(id);
+            orderItem.setOrder(order);
+            orderItem.setBook(book(id));
+            orderItem.setQuantity(2);
+            orderItem.setPrice(BigDecimal.valueOf(2359, 2));
+            orderItems.add(orderItem);
+        }
+        order.setOrderItems(orderItems);
+        return order;
+    }
+}
@@ -0,0 +1,48 @@
+package bookstore.benchmark;
+
+import bookstore.dto.book.BookSearchParameters;
+import bookstore.model.Book;
+import bookstore.repository.book.AuthorSpecificationProvider;
+import bookstore.repository.book.BookSpecificationBuilder;
+import bookstore.repository.book.BookSpecificationProviderManager;
+import bookstore.repository.book.DescriptionSpecificationProvider;
+import bookstore.repository.book.IsbnSpecificationProvider;
+import bookstore.repository.book.PriceSpecificationProvider;
+import bookstore.repository.book.TitleSpecificationProvider;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookSpecificationBuilderBenchmark {
+    private final BookSpecificationBuilder builder = new BookSpecificationBuilder(
+            new BookSpecificationProviderManager(List.of(
+                    new TitleSpecificationProvider(),
+                    new AuthorSpecificationProvider(),
+                    new DescriptionSpecificationProvider(),
+                    new IsbnSpecificationProvider(),
+                    new PriceSpecificationProvider())));
+    private final BookSearchParameters params = new BookSearchParameters(
+            new String[]{"Harry Potter"}, new String[]{"J Rowling"}, new String[]{"123456-890"},
+            new String[]{"23.59"}, new String[]{"Awesome"}, null, null, null, null, null, null,
+            null, null, null);
+
+    @Benchmark
+    public Specification<Book> build() {
+        return builder.build(params);
+    }
+}
@@ -0,0 +1,46 @@
+package bookstore.benchmark;
+
+import bookstore.security.JwtUtil;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil("hellomatesqwertasdzxc1234567890vbnmjklqwert");
+        Field expiration = ReflectionUtils.findField(JwtUtil.class, "expiration");
+        ReflectionUtils.makeAccessible(expiration);
+        ReflectionUtils.setField(expiration, jwtUtil, 3_000_000L);
+        token = jwtUtil.generateToken("bob@gmail.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("bob@gmail.com");
+    }
+
+    @Benchmark
+    public boolean isValidToken() {
+        return jwtUtil.isValidToken(token);
+    }
+}
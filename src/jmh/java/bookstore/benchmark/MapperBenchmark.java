@@ -0,0 +1,65 @@
+package bookstore.benchmark;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.order.OrderResponseDto;
+import bookstore.dto.shoppingcart.ShoppingCartDto;
+import bookstore.mapper.BookMapper;
+import bookstore.mapper.OrderMapper;
+import bookstore.mapper.ShoppingCartMapper;
+import bookstore.mapper.impl.BookMapperImpl;
+import bookstore.mapper.impl.CartItemMapperImpl;
+import bookstore.mapper.impl.OrderItemMapperImpl;
+import bookstore.mapper.impl.OrderMapperImpl;
+import bookstore.mapper.impl.ShoppingCartMapperImpl;
+import bookstore.model.Book;
+import bookstore.model.Order;
+import bookstore.model.ShoppingCart;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private final ShoppingCartMapper shoppingCartMapper =
+            new ShoppingCartMapperImpl(new CartItemMapperImpl());
+    private final OrderMapper orderMapper = new OrderMapperImpl(new OrderItemMapperImpl());
+    private Book book;
+    private ShoppingCart shoppingCart;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        book = BenchmarkData.book(1L);
+        shoppingCart = BenchmarkData.shoppingCart();
+        order = BenchmarkData.order();
+    }
+
+    @Benchmark
+    public BookDto bookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public ShoppingCartDto shoppingCartToDto() {
+        return shoppingCartMapper.toDto(shoppingCart);
+    }
+
+    @Benchmark
+    public OrderResponseDto orderToResponseDto() {
+        return orderMapper.toResponseDto(order);
+    }
+}
@@ -0,0 +1,92 @@
+package bookstore.benchmark;
+
+import bookstore.model.OrderItem;
+import bookstore.repository.order.OrderItemBatchRepositoryImpl;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes the {@value BenchmarkData#LINES} lines of an order the way checkout
+ * used to, one INSERT per item, and as the single JDBC batch of
+ * {@link OrderItemBatchRepositoryImpl}. Runs against in-memory H2 by default;
+ * pass {@code -p url=jdbc:mysql://...?rewriteBatchedStatements=true} with
+ * {@code -p user} and {@code -p password} to measure a scratch MySQL schema.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderItemInsertBenchmark {
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS order_items ("
+            + "id BIGINT AUTO_INCREMENT PRIMARY KEY, order_id BIGINT NOT NULL, "
+            + "book_id BIGINT NOT NULL, quantity INT NOT NULL, price DECIMAL(38, 2) NOT NULL, "
+            + "is_deleted BOOLEAN NOT NULL)";
+    private static final String INSERT_SQL = "INSERT INTO order_items "
+            + "(order_id, book_id, quantity, price, is_deleted) VALUES (?, ?, ?, ?, false)";
+    private static final String DELETE_SQL = "DELETE FROM order_items WHERE order_id = ?";
+
+    @Param("jdbc:h2:mem:orders;MODE=MySQL;DB_CLOSE_DELAY=-1")
+    private String url;
+    @Param("sa")
+    private String user;
+    @Param("")
+    private String password;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private OrderItemBatchRepositoryImpl orderItemBatchRepository;
+    private List<OrderItem> orderItems;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(url, user, password, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        orderItemBatchRepository = new OrderItemBatchRepositoryImpl(jdbcTemplate);
+        orderItems = List.copyOf(BenchmarkData.order().getOrderItems());
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteOrderItems() {
+        jdbcTemplate.update(DELETE_SQL, orderItems.get(0).getOrder().getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public void insertPerItem() {
+        transactionTemplate.executeWithoutResult(status -> orderItems.forEach(orderItem ->
+                jdbcTemplate.update(INSERT_SQL, orderItem.getOrder().getId(),
+                        orderItem.getBook().getId(), orderItem.getQuantity(),
+                        orderItem.getPrice())));
+    }
+
+    @Benchmark
+    public void insertBatch() {
+        transactionTemplate.executeWithoutResult(status ->
+                orderItemBatchRepository.insertAll(orderItems));
+    }
+}
@@ -2,8 +2,11 @@ package bookstore.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import bookstore.security.BoundedPasswordEncoder;
 import bookstore.security.JwtAuthenticationFilter;
+import bookstore.security.PasswordHashingProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +22,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @EnableMethodSecurity
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 @RequiredArgsConstructor
 @Configuration
 public class SecurityConfig {
@@ -26,8 +30,12 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(properties.bcryptStrengthOrDefault()),
+                properties.threadsOrDefault(),
+                properties.queueCapacityOrDefault(),
+                properties.retryAfterOrDefault());
     }
 
     @Bean
@@ -39,6 +47,8 @@ public class SecurityConfig {
                     auth -> auth
                             .requestMatchers("/auth/**", "/v3/api-docs/**", "/swagger-ui/**")
                             .permitAll()
+                            .requestMatchers("/actuator/**")
+                            .hasRole("ADMIN")
                             .anyRequest()
                             .authenticated()
                 )
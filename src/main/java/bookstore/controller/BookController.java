@@ -1,12 +1,20 @@
 package bookstore.controller;
 
 import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookImportResultDto;
 import bookstore.dto.book.BookSearchParameters;
+import bookstore.dto.book.BookSearchResultDto;
 import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.export.BookExportFormat;
+import bookstore.importer.BookImportFormat;
+import bookstore.service.BookImportService;
 import bookstore.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
@@ -20,6 +28,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,6 +38,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/books")
 public class BookController {
     private final BookService bookService;
+    private final BookImportService bookImportService;
 
     @GetMapping
     @Operation(summary = "Get all books", description = "Get a list of all available books")
@@ -36,6 +46,17 @@ public class BookController {
         return bookService.findAll(pageable);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export all books", description = "Stream the whole catalog as "
+            + "newline-delimited JSON (format=ndjson, default) or CSV (format=csv)")
+    public void export(@RequestParam(required = false) String format,
+                       HttpServletResponse response) throws IOException {
+        BookExportFormat exportFormat = BookExportFormat.from(format);
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setCharacterEncoding("UTF-8");
+        bookService.export(exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get book by id", description = "Get book by id")
     public BookDto findById(@PathVariable Long id) {
@@ -49,6 +70,16 @@ public class BookController {
         return bookService.save(requestDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @Operation(summary = "Import books", description = "Insert or update books by ISBN from "
+            + "newline-delimited JSON or CSV in the export layout. Invalid rows are skipped "
+            + "and reported with their row number")
+    public BookImportResultDto importBooks(HttpServletRequest request) throws IOException {
+        return bookImportService.importBooks(BookImportFormat.from(request.getContentType()),
+                request.getInputStream());
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{id}")
@@ -67,8 +98,14 @@ public class BookController {
 
     @GetMapping("/search")
     @Operation(summary = "Book search", description = "Search for books by specific parameters "
-            + "(title, price, isbn, author, description)")
-    public List<BookDto> search(BookSearchParameters searchParameters) {
+            + "(title, price, isbn, author, description), by titlePrefix and authorPrefix "
+            + "and by an inclusive minPrice/maxPrice range. Results are ordered by sort "
+            + "(id, title, author or price) and paged with the nextCursor of the previous "
+            + "response. "
+            + "With facets=true the counts per category, author and price range of all "
+            + "matching books are returned as well. A full-text query ranks books by the "
+            + "relevance of their description and returns scores and highlights")
+    public BookSearchResultDto search(BookSearchParameters searchParameters) {
         return bookService.search(searchParameters);
     }
 }
@@ -7,10 +7,12 @@ import bookstore.service.BookService;
 import bookstore.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -29,6 +31,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/categories")
 public class CategoryController {
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final CategoryService categoryService;
     private final BookService bookService;
 
@@ -69,8 +73,13 @@ public class CategoryController {
     }
 
     @GetMapping("/{id}/books")
-    @Operation(summary = "Get books by category", description = "Get  all books by category id")
-    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(@PathVariable Long id) {
-        return bookService.findAllByCategoryId(id);
+    @Operation(summary = "Get books by category",
+            description = "Get a page of books by category id, sortable by id, title or price. "
+                    + "The category size is returned in the X-Total-Count header")
+    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(@PathVariable Long id,
+            @ParameterObject Pageable pageable, HttpServletResponse response) {
+        Page<BookDtoWithoutCategoryIds> page = bookService.findAllByCategoryId(id, pageable);
+        response.setHeader(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()));
+        return page.getContent();
     }
 }
@@ -0,0 +1,4 @@
+package bookstore.dto.book;
+
+public record AuthorFacetDto(String author, long count) {
+}
@@ -3,10 +3,12 @@ package bookstore.dto.book;
 import java.math.BigDecimal;
 import java.util.List;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
 @Data
 @Accessors(chain = true)
+@NoArgsConstructor
 public class BookDto {
     private Long id;
     private String title;
@@ -16,4 +18,18 @@ public class BookDto {
     private String description;
     private String coverImage;
     private List<Long> categoryIds;
+
+    /**
+     * Used by JPQL constructor expressions; category ids are filled in afterwards.
+     */
+    public BookDto(Long id, String title, String author, String isbn, BigDecimal price,
+                   String description, String coverImage) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.price = price;
+        this.description = description;
+        this.coverImage = coverImage;
+    }
 }
@@ -1,9 +1,13 @@
 package bookstore.dto.book;
 
 import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BookDtoWithoutCategoryIds {
     private Long id;
     private String title;
@@ -0,0 +1,8 @@
+package bookstore.dto.book;
+
+import java.util.List;
+
+public record BookFacetsDto(List<CategoryFacetDto> categories,
+                            List<AuthorFacetDto> authors,
+                            List<PriceRangeFacetDto> priceRanges) {
+}
@@ -0,0 +1,4 @@
+package bookstore.dto.book;
+
+public record BookImportErrorDto(long row, String message) {
+}
@@ -0,0 +1,7 @@
+package bookstore.dto.book;
+
+import java.util.List;
+
+public record BookImportResultDto(long processed, long inserted, long updated, long failed,
+                                  List<BookImportErrorDto> errors) {
+}
@@ -0,0 +1,4 @@
+package bookstore.dto.book;
+
+public record BookSearchHitDto(Long id, double score, String highlight) {
+}
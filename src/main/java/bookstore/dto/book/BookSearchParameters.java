@@ -1,8 +1,51 @@
 package bookstore.dto.book;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public record BookSearchParameters(String[] titles,
                                    String[] authors,
                                    String[] isbns,
                                    String[] prices,
-                                   String[] descriptions) {
+                                   String[] descriptions,
+                                   String titlePrefix,
+                                   String authorPrefix,
+                                   BigDecimal minPrice,
+                                   BigDecimal maxPrice,
+                                   String sort,
+                                   String cursor,
+                                   Integer limit,
+                                   Boolean facets,
+                                   String query) {
+    /**
+     * Returns the given filters keyed by specification provider key, in a
+     * fixed order. Empty filters are left out.
+     */
+    public Map<String, String[]> filters() {
+        Map<String, String[]> filters = new LinkedHashMap<>();
+        putIfPresent(filters, "title", titles);
+        putIfPresent(filters, "author", authors);
+        putIfPresent(filters, "description", descriptions);
+        putIfPresent(filters, "isbn", isbns);
+        putIfPresent(filters, "price", prices);
+        putIfPresent(filters, "titlePrefix", titlePrefix);
+        putIfPresent(filters, "authorPrefix", authorPrefix);
+        putIfPresent(filters, "minPrice", minPrice == null ? null : minPrice.toPlainString());
+        putIfPresent(filters, "maxPrice", maxPrice == null ? null : maxPrice.toPlainString());
+        putIfPresent(filters, "query", query);
+        return filters;
+    }
+
+    private static void putIfPresent(Map<String, String[]> filters, String key, String[] values) {
+        if (values != null && values.length > 0) {
+            filters.put(key, values);
+        }
+    }
+
+    private static void putIfPresent(Map<String, String[]> filters, String key, String value) {
+        if (value != null && !value.isBlank()) {
+            filters.put(key, new String[]{value});
+        }
+    }
 }
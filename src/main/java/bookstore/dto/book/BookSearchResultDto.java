@@ -0,0 +1,9 @@
+package bookstore.dto.book;
+
+import java.util.List;
+
+public record BookSearchResultDto(List<BookDto> books,
+                                  String nextCursor,
+                                  BookFacetsDto facets,
+                                  List<BookSearchHitDto> hits) {
+}
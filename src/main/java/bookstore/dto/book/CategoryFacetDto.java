@@ -0,0 +1,4 @@
+package bookstore.dto.book;
+
+public record CategoryFacetDto(Long categoryId, long count) {
+}
@@ -0,0 +1,10 @@
+package bookstore.dto.book;
+
+import java.math.BigDecimal;
+
+/**
+ * Books priced from {@code from} inclusive to {@code to} exclusive. A missing
+ * bound leaves that end of the range open.
+ */
+public record PriceRangeFacetDto(BigDecimal from, BigDecimal to, long count) {
+}
@@ -0,0 +1,7 @@
+package bookstore.exception;
+
+public class InvalidSearchParameterException extends RuntimeException {
+    public InvalidSearchParameterException(String message) {
+        super(message);
+    }
+}
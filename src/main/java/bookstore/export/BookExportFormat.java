@@ -0,0 +1,43 @@
+package bookstore.export;
+
+import bookstore.exception.InvalidSearchParameterException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+public enum BookExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    BookExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static BookExportFormat from(String format) {
+        if (format == null || format.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchParameterException("Can't export books as " + format);
+        }
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public BookExportWriter newWriter(ObjectMapper objectMapper, OutputStream outputStream)
+            throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonBookExportWriter(objectMapper, outputStream);
+            case CSV -> new CsvBookExportWriter(outputStream);
+            default -> throw new IllegalStateException("Unknown export format " + this);
+        };
+    }
+}
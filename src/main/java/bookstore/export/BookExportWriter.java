@@ -0,0 +1,13 @@
+package bookstore.export;
+
+import bookstore.dto.book.BookDto;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes exported books one at a time. Closing flushes the writer but leaves
+ * the underlying stream open.
+ */
+public interface BookExportWriter extends Closeable {
+    void write(BookDto book) throws IOException;
+}
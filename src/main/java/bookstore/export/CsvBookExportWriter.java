@@ -0,0 +1,67 @@
+package bookstore.export;
+
+import bookstore.dto.book.BookDto;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes RFC 4180 CSV with a header row. Category ids share one column,
+ * separated by {@code ;}.
+ */
+class CsvBookExportWriter implements BookExportWriter {
+    private static final String HEADER =
+            "id,title,author,isbn,price,description,coverImage,categoryIds\r\n";
+
+    private final Writer writer;
+
+    CsvBookExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void write(BookDto book) throws IOException {
+        writer.write(String.valueOf(book.getId()));
+        writeField(book.getTitle());
+        writeField(book.getAuthor());
+        writeField(book.getIsbn());
+        writeField(book.getPrice() == null ? null : book.getPrice().toPlainString());
+        writeField(book.getDescription());
+        writeField(book.getCoverImage());
+        writeField(joinIds(book.getCategoryIds()));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String joinIds(List<Long> ids) {
+        return ids == null ? null : ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(";"));
+    }
+}
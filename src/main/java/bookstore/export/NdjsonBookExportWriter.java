@@ -0,0 +1,33 @@
+package bookstore.export;
+
+import bookstore.dto.book.BookDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes one JSON object per line through a single Jackson generator, so only
+ * the current book is held in memory.
+ */
+class NdjsonBookExportWriter implements BookExportWriter {
+    private final JsonGenerator generator;
+
+    NdjsonBookExportWriter(ObjectMapper objectMapper, OutputStream outputStream)
+            throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(BookDto book) throws IOException {
+        generator.writeObject(book);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
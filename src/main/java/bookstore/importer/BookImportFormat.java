@@ -0,0 +1,37 @@
+package bookstore.importer;
+
+import bookstore.exception.InvalidSearchParameterException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.MediaType;
+
+public enum BookImportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    BookImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static BookImportFormat from(String contentType) {
+        MediaType type = contentType == null ? null : MediaType.parseMediaType(contentType);
+        for (BookImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(type)) {
+                return format;
+            }
+        }
+        throw new InvalidSearchParameterException("Can't import books from " + contentType);
+    }
+
+    public BookImportReader newReader(ObjectMapper objectMapper, InputStream inputStream)
+            throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonBookImportReader(objectMapper, inputStream);
+            case CSV -> new CsvBookImportReader(inputStream);
+            default -> throw new IllegalStateException("Unknown import format " + this);
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package bookstore.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads an upload one row at a time, so only the current chunk is in memory.
+ */
+public interface BookImportReader extends Closeable {
+    /**
+     * Returns the next row or {@code null} at the end of the upload.
+     */
+    BookImportRecord next() throws IOException;
+}
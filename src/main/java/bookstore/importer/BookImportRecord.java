@@ -0,0 +1,17 @@
+package bookstore.importer;
+
+import bookstore.dto.book.CreateBookRequestDto;
+
+/**
+ * One uploaded row, numbered from 1 without the CSV header. Rows that could not
+ * be parsed carry the error instead of a book.
+ */
+public record BookImportRecord(long row, CreateBookRequestDto book, String error) {
+    public static BookImportRecord of(long row, CreateBookRequestDto book) {
+        return new BookImportRecord(row, book, null);
+    }
+
+    public static BookImportRecord failed(long row, String error) {
+        return new BookImportRecord(row, null, error);
+    }
+}
@@ -0,0 +1,150 @@
+package bookstore.importer;
+
+import bookstore.dto.book.CreateBookRequestDto;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads RFC 4180 CSV with a header row, as written by the export. Columns are
+ * matched by name, unknown columns such as {@code id} are ignored and category
+ * ids are separated by {@code ;}.
+ */
+class CsvBookImportReader implements BookImportReader {
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long row;
+    private boolean endOfInput;
+
+    CsvBookImportReader(InputStream inputStream) throws IOException {
+        this.reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<String> header = readRecord();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i) == null ? "" : header.get(i).trim(), i);
+            }
+        }
+    }
+
+    @Override
+    public BookImportRecord next() throws IOException {
+        List<String> fields = readRecord();
+        while (fields != null && fields.size() == 1 && fields.get(0) == null) {
+            fields = readRecord();
+        }
+        if (fields == null) {
+            return null;
+        }
+        row++;
+        try {
+            return BookImportRecord.of(row, new CreateBookRequestDto()
+                    .setTitle(field(fields, "title"))
+                    .setAuthor(field(fields, "author"))
+                    .setIsbn(field(fields, "isbn"))
+                    .setPrice(decimal(field(fields, "price")))
+                    .setDescription(field(fields, "description"))
+                    .setCoverImage(field(fields, "coverImage"))
+                    .setCategoryIds(ids(field(fields, "categoryIds"))));
+        } catch (NumberFormatException e) {
+            return BookImportRecord.failed(row, "Invalid number: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value == null ? null : new BigDecimal(value.trim());
+    }
+
+    private static List<Long> ids(String value) {
+        if (value == null) {
+            return null;
+        }
+        return Arrays.stream(value.split(";"))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .toList();
+    }
+
+    /**
+     * Returns the fields of the next record, empty fields as {@code null}, or
+     * {@code null} at the end of the input.
+     */
+    private List<String> readRecord() throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+        int current = reader.read();
+        if (current < 0) {
+            endOfInput = true;
+            return null;
+        }
+        while (true) {
+            if (current < 0) {
+                endOfInput = true;
+                fields.add(empty ? null : field.toString());
+                return fields;
+            }
+            char character = (char) current;
+            if (quoted) {
+                if (character == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following >= 0) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(character);
+                }
+            } else if (character == '"') {
+                quoted = true;
+                empty = false;
+            } else if (character == ',') {
+                fields.add(empty ? null : field.toString());
+                field.setLength(0);
+                empty = true;
+            } else if (character == '\n' || character == '\r') {
+                if (character == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                fields.add(empty ? null : field.toString());
+                return fields;
+            } else {
+                field.append(character);
+                empty = false;
+            }
+            current = reader.read();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package bookstore.importer;
+
+import bookstore.dto.book.CreateBookRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads one JSON object per line. A malformed line only fails its own row.
+ */
+class NdjsonBookImportReader implements BookImportReader {
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long row;
+
+    NdjsonBookImportReader(ObjectMapper objectMapper, InputStream inputStream) {
+        this.reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.objectReader = objectMapper.readerFor(CreateBookRequestDto.class);
+    }
+
+    @Override
+    public BookImportRecord next() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        row++;
+        try {
+            return BookImportRecord.of(row, objectReader.readValue(line));
+        } catch (JsonProcessingException e) {
+            return BookImportRecord.failed(row, e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
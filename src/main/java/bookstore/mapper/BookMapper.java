@@ -2,26 +2,35 @@ package bookstore.mapper;
 
 import bookstore.config.MapperConfig;
 import bookstore.dto.book.BookDto;
-import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.CreateBookRequestDto;
 import bookstore.model.Book;
 import bookstore.model.Category;
-import org.mapstruct.AfterMapping;
+import bookstore.repository.book.BookCategoryIds;
+import java.util.List;
+import java.util.Set;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
-import org.mapstruct.MappingTarget;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(config = MapperConfig.class)
 public interface BookMapper {
+    @Mapping(target = "categoryIds", source = "categories")
     BookDto toDto(Book book);
 
-    Book toEntity(CreateBookRequestDto requestDto);
+    @Mapping(target = "categoryIds", source = "id", qualifiedByName = "categoryIdsOf")
+    BookDto toDto(Book book, @Context BookCategoryIds categoryIds);
 
-    BookDtoWithoutCategoryIds toDtoWithoutCategoryIds(Book book);
+    Book toEntity(CreateBookRequestDto requestDto);
 
-    @AfterMapping
-    default void setCategoryIds(@MappingTarget BookDto bookDto, Book book) {
-        bookDto.setCategoryIds(book.getCategories().stream()
+    default List<Long> toCategoryIds(Set<Category> categories) {
+        return categories.stream()
                 .map(Category::getId)
-                .toList());
+                .toList();
+    }
+
+    @Named("categoryIdsOf")
+    default List<Long> categoryIdsOf(Long bookId, @Context BookCategoryIds categoryIds) {
+        return categoryIds.get(bookId);
     }
 }
@@ -0,0 +1,37 @@
+package bookstore.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes Hibernate load and fetch counts per entity type. Global query and
+ * second-level cache statistics come from hibernate-micrometer.
+ */
+@RequiredArgsConstructor
+@Component
+public class HibernateEntityMetrics implements MeterBinder {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        for (String entityName : statistics.getEntityNames()) {
+            String entity = entityName.substring(entityName.lastIndexOf('.') + 1);
+            FunctionCounter.builder("bookstore.hibernate.entity.loads", statistics,
+                            s -> s.getEntityStatistics(entityName).getLoadCount())
+                    .tag("entity", entity)
+                    .register(registry);
+            FunctionCounter.builder("bookstore.hibernate.entity.fetches", statistics,
+                            s -> s.getEntityStatistics(entityName).getFetchCount())
+                    .tag("entity", entity)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package bookstore.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements of every request, records them per endpoint as
+ * {@code bookstore.http.sql.statements} and warns when the endpoint budget is
+ * exceeded. {@code sql.budget.fail-on-exceed} is a test-only assertion: the
+ * budget is checked after the chain has run, when a real response is usually
+ * committed already, so the client still sees the original status. MockMvc
+ * rethrows the failure, which is what the tests rely on.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(SqlStatementBudgetProperties.class)
+@Component
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+    public static final String STATEMENT_COUNT_ATTRIBUTE =
+            SqlStatementBudgetFilter.class.getName() + ".STATEMENT_COUNT";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final SqlStatementBudgetProperties budgetProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlStatementCounter.start();
+        int statements;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements = sqlStatementCounter.stop();
+            request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements);
+        }
+        String endpoint = endpointOf(request);
+        DistributionSummary.builder("bookstore.http.sql.statements")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statements);
+        int budget = budgetProperties.budgetOf(endpoint);
+        if (statements > budget) {
+            Counter.builder("bookstore.http.sql.budget.exceeded")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            String message = endpoint + " executed " + statements
+                    + " SQL statements, budget is " + budget;
+            if (budgetProperties.failOnExceed()) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? "UNMAPPED" : pattern);
+    }
+}
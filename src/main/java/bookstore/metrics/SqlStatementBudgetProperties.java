@@ -0,0 +1,21 @@
+package bookstore.metrics;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Allowed SQL statements per request. Endpoint keys are the HTTP method and
+ * the mapped path pattern, e.g. {@code "GET /books"}. {@code failOnExceed}
+ * is for tests only, see {@link SqlStatementBudgetFilter}.
+ */
+@ConfigurationProperties("sql.budget")
+public record SqlStatementBudgetProperties(Integer defaultBudget,
+                                           Map<String, Integer> endpoints,
+                                           boolean failOnExceed) {
+    public int budgetOf(String endpoint) {
+        if (endpoints != null && endpoints.containsKey(endpoint)) {
+            return endpoints.get(endpoint);
+        }
+        return defaultBudget == null ? Integer.MAX_VALUE : defaultBudget;
+    }
+}
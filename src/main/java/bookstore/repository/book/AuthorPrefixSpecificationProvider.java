@@ -0,0 +1,16 @@
+package bookstore.repository.book;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuthorPrefixSpecificationProvider extends PrefixSpecificationProvider {
+    @Override
+    public String getKey() {
+        return "authorPrefix";
+    }
+
+    @Override
+    protected String getAttribute() {
+        return "author";
+    }
+}
@@ -0,0 +1,7 @@
+package bookstore.repository.book;
+
+public interface BookCategoryIdView {
+    Long getBookId();
+
+    Long getCategoryId();
+}
@@ -0,0 +1,52 @@
+package bookstore.repository.book;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Category ids of a batch of books, stored as sorted book ids with offsets
+ * into one flat array of category ids.
+ */
+public final class BookCategoryIds {
+    private final long[] bookIds;
+    private final int[] offsets;
+    private final long[] categoryIds;
+
+    private BookCategoryIds(long[] bookIds, int[] offsets, long[] categoryIds) {
+        this.bookIds = bookIds;
+        this.offsets = offsets;
+        this.categoryIds = categoryIds;
+    }
+
+    /**
+     * Builds the lookup from rows ordered by book id.
+     */
+    public static BookCategoryIds of(List<BookCategoryIdView> rows) {
+        long[] bookIds = new long[rows.size()];
+        int[] offsets = new int[rows.size() + 1];
+        long[] categoryIds = new long[rows.size()];
+        int books = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            BookCategoryIdView row = rows.get(i);
+            if (books == 0 || bookIds[books - 1] != row.getBookId()) {
+                bookIds[books] = row.getBookId();
+                offsets[books] = i;
+                books++;
+            }
+            categoryIds[i] = row.getCategoryId();
+        }
+        offsets[books] = rows.size();
+        return new BookCategoryIds(Arrays.copyOf(bookIds, books),
+                Arrays.copyOf(offsets, books + 1), categoryIds);
+    }
+
+    public List<Long> get(Long bookId) {
+        int position = Arrays.binarySearch(bookIds, bookId);
+        if (position < 0) {
+            return List.of();
+        }
+        return Arrays.stream(categoryIds, offsets[position], offsets[position + 1])
+                .boxed()
+                .toList();
+    }
+}
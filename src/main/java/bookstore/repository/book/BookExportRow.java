@@ -0,0 +1,12 @@
+package bookstore.repository.book;
+
+import java.math.BigDecimal;
+
+/**
+ * One book joined with one of its categories; books without categories have a
+ * single row with a {@code null} category id.
+ */
+public record BookExportRow(Long id, String title, String author, String isbn,
+                            BigDecimal price, String description, String coverImage,
+                            Long categoryId) {
+}
@@ -0,0 +1,15 @@
+package bookstore.repository.book;
+
+import bookstore.dto.book.CreateBookRequestDto;
+import java.util.List;
+
+public interface BookImportRepository {
+    /**
+     * Inserts or updates the books by ISBN as JDBC batches in one transaction,
+     * reviving soft-deleted books. Category links of books with non-null
+     * {@code categoryIds} are replaced. ISBNs must be unique within the call.
+     *
+     * @return how many of the books already existed
+     */
+    int upsertAllByIsbn(List<CreateBookRequestDto> books);
+}
@@ -0,0 +1,85 @@
+package bookstore.repository.book;
+
+import bookstore.dto.book.CreateBookRequestDto;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class BookImportRepositoryImpl implements BookImportRepository {
+    private static final String SELECT_IDS_SQL =
+            "SELECT id, isbn FROM books WHERE isbn IN (:isbns)";
+    private static final String UPSERT_SQL = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image, is_deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, false) "
+            + "ON DUPLICATE KEY UPDATE title = VALUES(title), author = VALUES(author), "
+            + "price = VALUES(price), description = VALUES(description), "
+            + "cover_image = VALUES(cover_image), is_deleted = false";
+    private static final String DELETE_CATEGORIES_SQL =
+            "DELETE FROM books_categories WHERE book_id IN (:bookIds)";
+    private static final String INSERT_CATEGORY_SQL =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public int upsertAllByIsbn(List<CreateBookRequestDto> books) {
+        if (books.isEmpty()) {
+            return 0;
+        }
+        List<String> isbns = books.stream().map(CreateBookRequestDto::getIsbn).toList();
+        int existing = findIdsByIsbn(isbns).size();
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, books, books.size(),
+                (statement, book) -> {
+                    statement.setString(1, book.getTitle());
+                    statement.setString(2, book.getAuthor());
+                    statement.setString(3, book.getIsbn());
+                    statement.setBigDecimal(4, book.getPrice());
+                    statement.setString(5, book.getDescription());
+                    statement.setString(6, book.getCoverImage());
+                });
+        replaceCategories(books);
+        return existing;
+    }
+
+    private void replaceCategories(List<CreateBookRequestDto> books) {
+        List<CreateBookRequestDto> withCategories = books.stream()
+                .filter(book -> book.getCategoryIds() != null)
+                .toList();
+        if (withCategories.isEmpty()) {
+            return;
+        }
+        Map<String, Long> ids = findIdsByIsbn(withCategories.stream()
+                .map(CreateBookRequestDto::getIsbn)
+                .toList());
+        jdbcTemplate.update(DELETE_CATEGORIES_SQL,
+                new MapSqlParameterSource("bookIds", ids.values()));
+        List<long[]> links = new ArrayList<>();
+        for (CreateBookRequestDto book : withCategories) {
+            Long bookId = ids.get(book.getIsbn());
+            book.getCategoryIds().stream()
+                    .distinct()
+                    .forEach(categoryId -> links.add(new long[] {bookId, categoryId}));
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_CATEGORY_SQL, links, links.size(),
+                (statement, link) -> {
+                    statement.setLong(1, link[0]);
+                    statement.setLong(2, link[1]);
+                });
+    }
+
+    private Map<String, Long> findIdsByIsbn(List<String> isbns) {
+        Map<String, Long> ids = new HashMap<>();
+        RowCallbackHandler collector = resultSet ->
+                ids.put(resultSet.getString("isbn"), resultSet.getLong("id"));
+        jdbcTemplate.query(SELECT_IDS_SQL, new MapSqlParameterSource("isbns", isbns), collector);
+        return ids;
+    }
+}
@@ -0,0 +1,10 @@
+package bookstore.repository.book;
+
+import bookstore.model.Book;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookKeysetRepository {
+    List<Book> findAllAfter(Specification<Book> specification, BookSortKey sortKey,
+                            BookSearchCursor after, int limit);
+}
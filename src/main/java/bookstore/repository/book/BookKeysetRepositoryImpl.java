@@ -0,0 +1,68 @@
+package bookstore.repository.book;
+
+import bookstore.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+public class BookKeysetRepositoryImpl implements BookKeysetRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Book> findAllAfter(Specification<Book> specification, BookSortKey sortKey,
+                                   BookSearchCursor after, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = criteriaBuilder.createQuery(Book.class);
+        Root<Book> root = query.from(Book.class);
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (after != null) {
+            predicates.add(seekPredicate(root, criteriaBuilder, sortKey, after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        if (sortKey == BookSortKey.ID) {
+            query.orderBy(criteriaBuilder.asc(root.get("id")));
+        } else {
+            query.orderBy(criteriaBuilder.asc(root.get(sortKey.getAttribute())),
+                    criteriaBuilder.asc(root.get("id")));
+        }
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private Predicate seekPredicate(Root<Book> root, CriteriaBuilder criteriaBuilder,
+                                    BookSortKey sortKey, BookSearchCursor after) {
+        Path<Long> id = root.get("id");
+        Predicate afterId = criteriaBuilder.greaterThan(id, after.id());
+        return switch (sortKey) {
+            case TITLE -> afterKey(criteriaBuilder, root.get("title"), after.value(), afterId);
+            case AUTHOR -> afterKey(criteriaBuilder, root.get("author"), after.value(), afterId);
+            case PRICE -> afterKey(criteriaBuilder, root.get("price"),
+                    new BigDecimal(after.value()), afterId);
+            default -> afterId;
+        };
+    }
+
+    private <T extends Comparable<? super T>> Predicate afterKey(CriteriaBuilder criteriaBuilder,
+                                                                 Path<T> key, T value,
+                                                                 Predicate afterId) {
+        return criteriaBuilder.or(
+                criteriaBuilder.greaterThan(key, value),
+                criteriaBuilder.and(criteriaBuilder.equal(key, value), afterId));
+    }
+}
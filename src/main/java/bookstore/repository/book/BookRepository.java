@@ -1,12 +1,79 @@
 package bookstore.repository.book;
 
+import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.model.Book;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookKeysetRepository, BookImportRepository {
     @Query("SELECT b FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
     List<Book> findAllByCategoryId(Long categoryId);
+
+    /**
+     * Reads list rows straight into DTOs, so no entity is loaded or managed.
+     * Category ids are not part of the row and are filled in by the caller.
+     */
+    @Query("SELECT new bookstore.dto.book.BookDto(b.id, b.title, b.author, b.isbn, b.price, "
+            + "b.description, b.coverImage) FROM Book b")
+    Slice<BookDto> findAllAsDtos(Pageable pageable);
+
+    @Query(value = "SELECT new bookstore.dto.book.BookDtoWithoutCategoryIds(b.id, b.title, "
+            + "b.author, b.isbn, b.price, b.description, b.coverImage) "
+            + "FROM Book b JOIN b.categories c WHERE c.id = :categoryId",
+            countQuery = "SELECT count(b) FROM Book b JOIN b.categories c "
+                    + "WHERE c.id = :categoryId")
+    Page<BookDtoWithoutCategoryIds> findAllAsDtosByCategoryId(Long categoryId,
+                                                              Pageable pageable);
+
+    /**
+     * Hydrates a page of ids picked by the search index. Rows come back in no
+     * particular order.
+     */
+    @Query("SELECT new bookstore.dto.book.BookDtoWithoutCategoryIds(b.id, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.coverImage) FROM Book b WHERE b.id IN :ids")
+    List<BookDtoWithoutCategoryIds> findAllAsDtosByIdIn(Collection<Long> ids);
+
+    /**
+     * Streams the whole catalog ordered by book id, one row per book and category.
+     * The fetch size makes MySQL use a server-side cursor when the connection has
+     * {@code useCursorFetch} set; see application.properties for what that costs
+     * the other statements. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new bookstore.repository.book.BookExportRow(b.id, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.coverImage, c.id) "
+            + "FROM Book b LEFT JOIN b.categories c ORDER BY b.id, c.id")
+    Stream<BookExportRow> streamAllForExport();
+
+    /**
+     * Reloads imported books for the search index. They are read-only, so no
+     * snapshot is kept for dirty checking.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Book> findAllByIsbnIn(Collection<String> isbns);
+
+    /**
+     * Reads the next batch of books after {@code id} for a keyset scan. The
+     * pageable should start at page 0 and sort by id; no count query is run.
+     */
+    Slice<Book> findAllByIdGreaterThan(Long id, Pageable pageable);
+
+    @Query("SELECT b.id AS bookId, c.id AS categoryId FROM Book b JOIN b.categories c "
+            + "WHERE b.id IN :bookIds ORDER BY b.id, c.id")
+    List<BookCategoryIdView> findCategoryIdsByBookIds(Collection<Long> bookIds);
 }
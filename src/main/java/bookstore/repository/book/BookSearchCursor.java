@@ -0,0 +1,55 @@
+package bookstore.repository.book;
+
+import bookstore.dto.book.BookDto;
+import bookstore.exception.InvalidSearchParameterException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a keyset-paginated search: the sort key value and id of
+ * the last book already returned to the client.
+ */
+public record BookSearchCursor(BookSortKey sortKey, String value, long id) {
+    private static final String SEPARATOR = ":";
+
+    public static BookSearchCursor of(BookSortKey sortKey, BookDto lastBook) {
+        return new BookSearchCursor(sortKey, sortKey.valueOf(lastBook), lastBook.getId());
+    }
+
+    public static BookSearchCursor decode(String cursor, BookSortKey expectedSortKey) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 3);
+            BookSortKey sortKey = BookSortKey.valueOf(parts[0]);
+            if (parts.length != 3 || sortKey != expectedSortKey) {
+                throw new IllegalArgumentException("Cursor doesn't match sort " + expectedSortKey);
+            }
+            checkValue(sortKey, parts[2]);
+            return new BookSearchCursor(sortKey, parts[2], Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchParameterException("Invalid search cursor " + cursor);
+        }
+    }
+
+    /**
+     * Rejects values the sort key can't compare, so a tampered cursor fails
+     * here instead of in the query or the index. Parse failures are
+     * {@link NumberFormatException}s, which are illegal arguments too.
+     */
+    private static void checkValue(BookSortKey sortKey, String value) {
+        switch (sortKey) {
+            case PRICE -> new BigDecimal(value);
+            case ID, RELEVANCE -> Long.parseLong(value);
+            default -> {
+            }
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,43 @@
+package bookstore.repository.book;
+
+import bookstore.dto.book.BookDto;
+import bookstore.exception.InvalidSearchParameterException;
+import java.util.Locale;
+
+public enum BookSortKey {
+    ID("id"),
+    TITLE("title"),
+    AUTHOR("author"),
+    PRICE("price"),
+    RELEVANCE("relevance");
+
+    private final String attribute;
+
+    BookSortKey(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public String valueOf(BookDto bookDto) {
+        return switch (this) {
+            case TITLE -> bookDto.getTitle();
+            case AUTHOR -> bookDto.getAuthor();
+            case PRICE -> bookDto.getPrice().toPlainString();
+            default -> String.valueOf(bookDto.getId());
+        };
+    }
+
+    public static BookSortKey from(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return ID;
+        }
+        try {
+            return valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchParameterException("Can't sort books by " + sort);
+        }
+    }
+}
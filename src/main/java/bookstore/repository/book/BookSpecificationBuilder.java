@@ -3,44 +3,60 @@ package bookstore.repository.book;
 import bookstore.dto.book.BookSearchParameters;
 import bookstore.model.Book;
 import bookstore.repository.SpecificationBuilder;
+import bookstore.repository.SpecificationProvider;
 import bookstore.repository.SpecificationProviderManager;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+/**
+ * Builds a search specification from whatever filters the parameters carry,
+ * one provider per filter key. The providers of a filter signature are
+ * resolved once into a plan, so a repeated search shape only binds values.
+ */
 @RequiredArgsConstructor
 @Component
 public class BookSpecificationBuilder implements SpecificationBuilder<Book> {
     private final SpecificationProviderManager<Book> bookSpecificationProviderManager;
+    private final Map<List<String>, SearchPlan> plans = new ConcurrentHashMap<>();
 
     @Override
     public Specification<Book> build(BookSearchParameters searchParameters) {
-        Specification<Book> spec = Specification.where(null);
-        if (searchParameters.titles() != null && searchParameters.titles().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager
-                    .getSpecificationProvider("title")
-                    .getSpecification(searchParameters.titles()));
-        }
-        if (searchParameters.authors() != null && searchParameters.authors().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager
-                    .getSpecificationProvider("author")
-                    .getSpecification(searchParameters.authors()));
-        }
-        if (searchParameters.descriptions() != null && searchParameters.descriptions().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager
-                    .getSpecificationProvider("description")
-                    .getSpecification(searchParameters.descriptions()));
-        }
-        if (searchParameters.isbns() != null && searchParameters.isbns().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager
-                    .getSpecificationProvider("isbn")
-                    .getSpecification(searchParameters.isbns()));
-        }
-        if (searchParameters.prices() != null && searchParameters.prices().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager
-                    .getSpecificationProvider("price")
-                    .getSpecification(searchParameters.prices()));
+        Map<String, String[]> filters = searchParameters.filters();
+        return plans.computeIfAbsent(List.copyOf(filters.keySet()), this::compile)
+                .bind(filters);
+    }
+
+    private SearchPlan compile(List<String> keys) {
+        return new SearchPlan(keys.stream()
+                .map(bookSpecificationProviderManager::getSpecificationProvider)
+                .toList());
+    }
+
+    private record SearchPlan(List<SpecificationProvider<Book>> providers) {
+        Specification<Book> bind(Map<String, String[]> filters) {
+            if (providers.isEmpty()) {
+                return Specification.where(null);
+            }
+            List<Specification<Book>> specifications = new ArrayList<>(providers.size());
+            for (SpecificationProvider<Book> provider : providers) {
+                specifications.add(provider.getSpecification(filters.get(provider.getKey())));
+            }
+            return (root, query, criteriaBuilder) -> {
+                List<Predicate> predicates = new ArrayList<>(specifications.size());
+                for (Specification<Book> specification : specifications) {
+                    Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+                    if (predicate != null) {
+                        predicates.add(predicate);
+                    }
+                }
+                return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+            };
         }
-        return spec;
     }
 }
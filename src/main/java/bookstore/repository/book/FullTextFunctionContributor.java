@@ -0,0 +1,22 @@
+package bookstore.repository.book;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code match_against(column, text)} for criteria queries. It
+ * renders MySQL's {@code MATCH ... AGAINST} in natural language mode and
+ * returns the relevance.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+    static final String MATCH_AGAINST = "match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(MATCH_AGAINST,
+                "match(?1) against(?2 in natural language mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.DOUBLE));
+    }
+}
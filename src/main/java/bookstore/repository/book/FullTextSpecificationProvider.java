@@ -0,0 +1,32 @@
+package bookstore.repository.book;
+
+import bookstore.model.Book;
+import bookstore.repository.SpecificationProvider;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Matches descriptions with MySQL natural language FULLTEXT search, answered
+ * by the FULLTEXT index on {@code books.description}. MySQL only.
+ */
+@Component
+public class FullTextSpecificationProvider implements SpecificationProvider<Book> {
+    @Override
+    public String getKey() {
+        return "query";
+    }
+
+    public Specification<Book> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.greaterThan(relevance(root, criteriaBuilder, params[0]), 0.0);
+    }
+
+    public static Expression<Double> relevance(Root<Book> root, CriteriaBuilder criteriaBuilder,
+                                               String text) {
+        return criteriaBuilder.function(FullTextFunctionContributor.MATCH_AGAINST, Double.class,
+                root.get("description"), criteriaBuilder.literal(text));
+    }
+}
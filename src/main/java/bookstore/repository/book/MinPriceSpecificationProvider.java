@@ -0,0 +1,21 @@
+package bookstore.repository.book;
+
+import bookstore.model.Book;
+import bookstore.repository.SpecificationProvider;
+import java.math.BigDecimal;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MinPriceSpecificationProvider implements SpecificationProvider<Book> {
+    @Override
+    public String getKey() {
+        return "minPrice";
+    }
+
+    public Specification<Book> getSpecification(String[] params) {
+        BigDecimal minPrice = PriceSpecificationProvider.toPrice(params[0]);
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+}
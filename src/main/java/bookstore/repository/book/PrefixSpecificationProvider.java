@@ -0,0 +1,32 @@
+package bookstore.repository.book;
+
+import bookstore.model.Book;
+import bookstore.repository.SpecificationProvider;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Matches a column by prefix with {@code LIKE 'prefix%'}, which a B-tree index
+ * on the column can answer as a range scan. Wildcards in the prefix are escaped.
+ */
+abstract class PrefixSpecificationProvider implements SpecificationProvider<Book> {
+    private static final char ESCAPE = '\\';
+
+    protected abstract String getAttribute();
+
+    public Specification<Book> getSpecification(String[] params) {
+        String pattern = escape(params[0].trim()) + "%";
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.like(root.get(getAttribute()), pattern, ESCAPE);
+    }
+
+    private static String escape(String prefix) {
+        StringBuilder escaped = new StringBuilder(prefix.length() + 1);
+        for (char c : prefix.toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
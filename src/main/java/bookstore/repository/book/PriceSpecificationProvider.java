@@ -1,7 +1,9 @@
 package bookstore.repository.book;
 
+import bookstore.exception.InvalidSearchParameterException;
 import bookstore.model.Book;
 import bookstore.repository.SpecificationProvider;
+import java.math.BigDecimal;
 import java.util.Arrays;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -14,7 +16,20 @@ public class PriceSpecificationProvider implements SpecificationProvider<Book> {
     }
 
     public Specification<Book> getSpecification(String[] params) {
-        return (root, query, criteriaBuilder) -> root.get("price")
-                .in(Arrays.stream(params).toArray());
+        BigDecimal[] prices = Arrays.stream(params)
+                .map(PriceSpecificationProvider::toPrice)
+                .toArray(BigDecimal[]::new);
+        return (root, query, criteriaBuilder) -> root.get("price").in((Object[]) prices);
+    }
+
+    /**
+     * Parses a price filter value, rejecting anything that isn't a number.
+     */
+    public static BigDecimal toPrice(String price) {
+        try {
+            return new BigDecimal(price.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidSearchParameterException("Invalid price " + price);
+        }
     }
 }
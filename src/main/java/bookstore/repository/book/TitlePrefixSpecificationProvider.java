@@ -0,0 +1,16 @@
+package bookstore.repository.book;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class TitlePrefixSpecificationProvider extends PrefixSpecificationProvider {
+    @Override
+    public String getKey() {
+        return "titlePrefix";
+    }
+
+    @Override
+    protected String getAttribute() {
+        return "title";
+    }
+}
@@ -1,9 +1,50 @@
 package bookstore.repository.cartitem;
 
 import bookstore.model.CartItem;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     Optional<CartItem> findByIdAndShoppingCartId(Long id, Long shoppingCartId);
+
+    /**
+     * Atomically adds {@code quantity} of a book to a cart line, creating the line
+     * or reviving a soft-deleted one. Returns 0 when the cart or the book does not exist.
+     * The statement only touches {@code cart_items}; declaring that table keeps Hibernate
+     * from invalidating every second-level cache region after each call. The update
+     * clause also sees the SELECT's tables, which have their own {@code is_deleted},
+     * so {@code cart_items} columns are qualified there.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cart_items"))
+    @Query(value = """
+            INSERT INTO cart_items (shopping_cart_id, book_id, quantity, is_deleted)
+            SELECT sc.user_id, b.id, :quantity, false
+            FROM shopping_carts sc
+            JOIN books b ON b.id = :bookId AND b.is_deleted = false
+            WHERE sc.user_id = :shoppingCartId AND sc.is_deleted = false
+            ON DUPLICATE KEY UPDATE
+                quantity = CASE WHEN cart_items.is_deleted THEN :quantity
+                           ELSE cart_items.quantity + :quantity END,
+                cart_items.is_deleted = false
+            """, nativeQuery = true)
+    int addQuantity(Long shoppingCartId, Long bookId, int quantity);
+
+    /**
+     * Soft-deletes every line of the cart in one statement. Pending changes are
+     * flushed first and the persistence context is cleared afterwards, so no stale
+     * cart items stay managed.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CartItem ci SET ci.isDeleted = true "
+            + "WHERE ci.shoppingCart.id = :shoppingCartId AND ci.isDeleted = false")
+    int deleteAllByShoppingCartId(Long shoppingCartId);
 }
@@ -0,0 +1,48 @@
+package bookstore.repository.category;
+
+import bookstore.model.Book;
+import bookstore.model.Category;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cached {@code Book.categories} collections when a category is
+ * soft-deleted. The join rows stay in place, so cached collections would keep
+ * pointing at a category that the {@code @Where} clause now hides.
+ */
+@RequiredArgsConstructor
+@Component
+public class BookCategoriesCacheEvictionListener implements PostDeleteEventListener {
+    public static final String BOOK_CATEGORIES_REGION = Book.class.getName() + ".categories";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Category) {
+            event.getSession().getFactory().getCache()
+                    .evictCollectionData(BOOK_CATEGORIES_REGION);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package bookstore.repository.order;
+
+import bookstore.model.OrderItem;
+import java.util.Collection;
+
+public interface OrderItemBatchRepository {
+    /**
+     * Inserts all order items as one JDBC batch. Generated ids are not read back.
+     */
+    void insertAll(Collection<OrderItem> orderItems);
+}
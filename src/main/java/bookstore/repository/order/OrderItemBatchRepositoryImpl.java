@@ -0,0 +1,30 @@
+package bookstore.repository.order;
+
+import bookstore.model.OrderItem;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class OrderItemBatchRepositoryImpl implements OrderItemBatchRepository {
+    private static final String INSERT_SQL = "INSERT INTO order_items "
+            + "(order_id, book_id, quantity, price, is_deleted) VALUES (?, ?, ?, ?, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(Collection<OrderItem> orderItems) {
+        if (orderItems.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, orderItems, orderItems.size(),
+                (statement, orderItem) -> {
+                    statement.setLong(1, orderItem.getOrder().getId());
+                    statement.setLong(2, orderItem.getBook().getId());
+                    statement.setInt(3, orderItem.getQuantity());
+                    statement.setBigDecimal(4, orderItem.getPrice());
+                });
+    }
+}
@@ -4,6 +4,7 @@ import bookstore.model.OrderItem;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>,
+        OrderItemBatchRepository {
     Optional<OrderItem> findByOrderIdAndId(Long orderId, Long id);
 }
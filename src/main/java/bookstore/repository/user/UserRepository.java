@@ -1,11 +1,21 @@
 package bookstore.repository.user;
 
+import bookstore.model.Role;
 import bookstore.model.User;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
+
+    /**
+     * Returns one row per role of the user, a single {@code null} when the user
+     * has no roles, and no rows when the user doesn't exist or is deleted.
+     */
+    @Query("SELECT r.roleName FROM User u LEFT JOIN u.roles r WHERE u.id = :userId")
+    List<Role.RoleName> findRoleNamesById(Long userId);
 }
@@ -0,0 +1,4 @@
+package bookstore.search;
+
+public record BookFullTextHit(long id, double score) {
+}
@@ -0,0 +1,10 @@
+package bookstore.search;
+
+import java.util.List;
+
+/**
+ * One page of full-text hits in relevance order and the number of matching
+ * books across all pages.
+ */
+public record BookFullTextHits(List<BookFullTextHit> hits, long total) {
+}
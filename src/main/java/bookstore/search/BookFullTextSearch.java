@@ -0,0 +1,16 @@
+package bookstore.search;
+
+import bookstore.dto.book.BookSearchParameters;
+
+/**
+ * Relevance-ranked search over book descriptions. The backend is picked with
+ * {@code book.search.full-text.backend}: {@code index} ranks in the in-memory
+ * search index, {@code mysql} uses the FULLTEXT index on {@code books}.
+ */
+public interface BookFullTextSearch {
+    /**
+     * Returns the hits for {@link BookSearchParameters#query()} among the books
+     * matching the other parameters, best first.
+     */
+    BookFullTextHits search(BookSearchParameters params, long offset, int limit);
+}
@@ -0,0 +1,40 @@
+package bookstore.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Marks the terms of a full-text query in a text with {@code <em>} tags. The
+ * rest of the text is HTML-escaped, so the result can be rendered as is.
+ */
+public final class BookHighlighter {
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private BookHighlighter() {
+    }
+
+    public static String highlight(String text, String query) {
+        if (text == null) {
+            return null;
+        }
+        Set<String> terms = Set.copyOf(Arrays.asList(BookSearchIndex.tokens(query)));
+        StringBuilder highlighted = new StringBuilder(text.length() + 16);
+        Matcher matcher = TOKEN.matcher(text);
+        int end = 0;
+        while (matcher.find()) {
+            highlighted.append(HtmlUtils.htmlEscape(text.substring(end, matcher.start())));
+            String token = matcher.group();
+            if (terms.contains(token.toLowerCase(Locale.ROOT))) {
+                highlighted.append("<em>").append(HtmlUtils.htmlEscape(token)).append("</em>");
+            } else {
+                highlighted.append(HtmlUtils.htmlEscape(token));
+            }
+            end = matcher.end();
+        }
+        return highlighted.append(HtmlUtils.htmlEscape(text.substring(end))).toString();
+    }
+}
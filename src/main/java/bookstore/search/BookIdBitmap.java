@@ -0,0 +1,492 @@
+package bookstore.search;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Compressed set of book ids in the style of a roaring bitmap. Ids are split
+ * into a 16-bit key and a 16-bit low part; each key owns a container that is a
+ * sorted {@code char[]} while sparse and a 65536-bit bitmap once it holds more
+ * than {@value #ARRAY_CONTAINER_LIMIT} ids. Ranks are resolved from container
+ * cardinalities, so a page is sliced without walking the ids before it.
+ * Not thread-safe.
+ */
+public final class BookIdBitmap {
+    static final int ARRAY_CONTAINER_LIMIT = 4096;
+    private static final long MAX_ID = 0xFFFF_FFFFL;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int cardinality;
+
+    /**
+     * Builds a bitmap from ids in ascending order.
+     */
+    public static BookIdBitmap of(long[] sortedIds) {
+        BookIdBitmap bitmap = new BookIdBitmap();
+        bitmap.addAll(sortedIds);
+        return bitmap;
+    }
+
+    public boolean add(long id) {
+        checkId(id);
+        char key = (char) (id >>> 16);
+        int position = Arrays.binarySearch(keys, key);
+        if (position < 0) {
+            position = -position - 1;
+            keys = insert(keys, position, key);
+            containers = insert(containers, position, new ArrayContainer());
+        }
+        int before = containers[position].cardinality();
+        containers[position] = containers[position].add((char) id);
+        boolean added = containers[position].cardinality() > before;
+        if (added) {
+            cardinality++;
+        }
+        return added;
+    }
+
+    /**
+     * Adds ids in ascending order. Each run of ids sharing a key is merged
+     * into its container in one pass instead of being inserted one by one.
+     */
+    public void addAll(long[] sortedIds) {
+        int start = 0;
+        while (start < sortedIds.length) {
+            checkId(sortedIds[start]);
+            char key = (char) (sortedIds[start] >>> 16);
+            int end = start + 1;
+            while (end < sortedIds.length && sortedIds[end] >>> 16 == key) {
+                end++;
+            }
+            int position = Arrays.binarySearch(keys, key);
+            if (position < 0) {
+                position = -position - 1;
+                keys = insert(keys, position, key);
+                containers = insert(containers, position, new ArrayContainer());
+            }
+            int before = containers[position].cardinality();
+            containers[position] = containers[position].addAll(sortedIds, start, end);
+            cardinality += containers[position].cardinality() - before;
+            start = end;
+        }
+    }
+
+    public boolean remove(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        int position = Arrays.binarySearch(keys, (char) (id >>> 16));
+        if (position < 0) {
+            return false;
+        }
+        int before = containers[position].cardinality();
+        containers[position] = containers[position].remove((char) id);
+        if (containers[position].cardinality() == before) {
+            return false;
+        }
+        cardinality--;
+        if (containers[position].cardinality() == 0) {
+            keys = delete(keys, position);
+            containers = delete(containers, position);
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        int position = Arrays.binarySearch(keys, (char) (id >>> 16));
+        return position >= 0 && containers[position].contains((char) id);
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Returns how many ids are less than or equal to {@code id}.
+     */
+    public long rank(long id) {
+        if (id < 0) {
+            return 0;
+        }
+        if (id > MAX_ID) {
+            return cardinality;
+        }
+        char key = (char) (id >>> 16);
+        long rank = 0;
+        for (int i = 0; i < keys.length && keys[i] <= key; i++) {
+            rank += keys[i] < key ? containers[i].cardinality() : containers[i].rank((char) id);
+        }
+        return rank;
+    }
+
+    /**
+     * Counts the ids present in both bitmaps without materializing the
+     * intersection. Only containers with a matching key are compared.
+     */
+    public int andCardinality(BookIdBitmap other) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                count += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns up to {@code limit} ids in ascending order, starting at rank
+     * {@code offset}.
+     */
+    public long[] slice(long offset, int limit) {
+        if (offset >= cardinality || limit <= 0) {
+            return new long[0];
+        }
+        int from = (int) offset;
+        long[] result = new long[Math.min(limit, cardinality - from)];
+        int written = 0;
+        for (int i = 0; i < containers.length && written < result.length; i++) {
+            int containerCardinality = containers[i].cardinality();
+            if (from >= containerCardinality) {
+                from -= containerCardinality;
+                continue;
+            }
+            int count = Math.min(containerCardinality - from, result.length - written);
+            containers[i].copyTo(from, (long) keys[i] << 16, result, written, count);
+            written += count;
+            from = 0;
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to {@code limit} ids in descending order, skipping the
+     * {@code offset} largest ones.
+     */
+    public long[] sliceDescending(long offset, int limit) {
+        if (offset >= cardinality || limit <= 0) {
+            return new long[0];
+        }
+        long to = cardinality - offset;
+        long from = Math.max(0, to - limit);
+        long[] result = slice(from, (int) (to - from));
+        for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+            long id = result[i];
+            result[i] = result[j];
+            result[j] = id;
+        }
+        return result;
+    }
+
+    public long[] toArray() {
+        return slice(0, cardinality);
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < containers.length; i++) {
+            containers[i].forEach((long) keys[i] << 16, action);
+        }
+    }
+
+    private static void checkId(long id) {
+        if (id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Book id out of bitmap range: " + id);
+        }
+    }
+
+    private static char[] insert(char[] values, int position, char value) {
+        char[] result = new char[values.length + 1];
+        System.arraycopy(values, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        return result;
+    }
+
+    private static Container[] insert(Container[] values, int position, Container value) {
+        Container[] result = new Container[values.length + 1];
+        System.arraycopy(values, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        return result;
+    }
+
+    private static char[] delete(char[] values, int position) {
+        char[] result = new char[values.length - 1];
+        System.arraycopy(values, 0, result, 0, position);
+        System.arraycopy(values, position + 1, result, position, values.length - position - 1);
+        return result;
+    }
+
+    private static Container[] delete(Container[] values, int position) {
+        Container[] result = new Container[values.length - 1];
+        System.arraycopy(values, 0, result, 0, position);
+        System.arraycopy(values, position + 1, result, position, values.length - position - 1);
+        return result;
+    }
+
+    /**
+     * The low 16 bits of the ids that share one key. Updates return the
+     * container to keep, which changes representation around the limit.
+     */
+    private interface Container {
+        Container add(char low);
+
+        Container addAll(long[] sortedIds, int from, int to);
+
+        Container remove(char low);
+
+        boolean contains(char low);
+
+        int cardinality();
+
+        int andCardinality(Container other);
+
+        int rank(char low);
+
+        void copyTo(int rank, long high, long[] target, int targetIndex, int count);
+
+        void forEach(long high, LongConsumer action);
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int cardinality;
+
+        @Override
+        public Container add(char low) {
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_CONTAINER_LIMIT) {
+                return toBitmap().add(low);
+            }
+            position = -position - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(values.length * 2,
+                        ARRAY_CONTAINER_LIMIT));
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container addAll(long[] sortedIds, int from, int to) {
+            if (cardinality + to - from > ARRAY_CONTAINER_LIMIT) {
+                return toBitmap().addAll(sortedIds, from, to);
+            }
+            char[] merged = new char[Math.max(values.length, cardinality + to - from)];
+            int size = 0;
+            int i = 0;
+            int j = from;
+            while (i < cardinality || j < to) {
+                char next = j == to || (i < cardinality && values[i] <= (char) sortedIds[j])
+                        ? values[i++] : (char) sortedIds[j++];
+                if (size == 0 || merged[size - 1] != next) {
+                    merged[size++] = next;
+                }
+            }
+            values = merged;
+            cardinality = size;
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position >= 0) {
+                System.arraycopy(values, position + 1, values, position,
+                        cardinality - position - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        count++;
+                        i++;
+                        j++;
+                    }
+                }
+                return count;
+            }
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public int rank(char low) {
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            return position >= 0 ? position + 1 : -position - 1;
+        }
+
+        @Override
+        public void copyTo(int rank, long high, long[] target, int targetIndex, int count) {
+            for (int i = 0; i < count; i++) {
+                target[targetIndex + i] = high | values[rank + i];
+            }
+        }
+
+        @Override
+        public void forEach(long high, LongConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        @Override
+        public Container add(char low) {
+            long mask = 1L << low;
+            if ((words[low >>> 6] & mask) == 0) {
+                words[low >>> 6] |= mask;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container addAll(long[] sortedIds, int from, int to) {
+            for (int i = from; i < to; i++) {
+                add((char) sortedIds[i]);
+            }
+            return cardinality > ARRAY_CONTAINER_LIMIT ? this : toArray();
+        }
+
+        @Override
+        public Container remove(char low) {
+            long mask = 1L << low;
+            if ((words[low >>> 6] & mask) == 0) {
+                return this;
+            }
+            words[low >>> 6] &= ~mask;
+            cardinality--;
+            return cardinality > ARRAY_CONTAINER_LIMIT ? this : toArray();
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                int count = 0;
+                for (int word = 0; word < words.length; word++) {
+                    count += Long.bitCount(words[word] & bitmap.words[word]);
+                }
+                return count;
+            }
+            return other.andCardinality(this);
+        }
+
+        @Override
+        public int rank(char low) {
+            int rank = 0;
+            for (int word = 0; word < low >>> 6; word++) {
+                rank += Long.bitCount(words[word]);
+            }
+            return rank + Long.bitCount(words[low >>> 6] & (-1L >>> (63 - (low & 63))));
+        }
+
+        @Override
+        public void copyTo(int rank, long high, long[] target, int targetIndex, int count) {
+            int word = 0;
+            int skipped = 0;
+            while (skipped + Long.bitCount(words[word]) <= rank) {
+                skipped += Long.bitCount(words[word]);
+                word++;
+            }
+            long bits = words[word];
+            for (int i = skipped; i < rank; i++) {
+                bits &= bits - 1;
+            }
+            int written = 0;
+            while (written < count) {
+                while (bits == 0) {
+                    bits = words[++word];
+                }
+                target[targetIndex + written++] = high
+                        | ((long) word << 6 | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+
+        @Override
+        public void forEach(long high, LongConsumer action) {
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    action.accept(high | ((long) word << 6 | Long.numberOfTrailingZeros(bits)));
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        private Container toArray() {
+            Container array = new ArrayContainer();
+            forEach(0, id -> array.add((char) id));
+            return array;
+        }
+    }
+}
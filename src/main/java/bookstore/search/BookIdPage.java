@@ -0,0 +1,7 @@
+package bookstore.search;
+
+/**
+ * One page of book ids together with the number of ids across all pages.
+ */
+public record BookIdPage(long[] ids, long total) {
+}
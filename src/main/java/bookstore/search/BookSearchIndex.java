@@ -0,0 +1,847 @@
+package bookstore.search;
+
+import bookstore.dto.book.AuthorFacetDto;
+import bookstore.dto.book.BookFacetsDto;
+import bookstore.dto.book.BookSearchParameters;
+import bookstore.dto.book.CategoryFacetDto;
+import bookstore.dto.book.PriceRangeFacetDto;
+import bookstore.model.Book;
+import bookstore.repository.book.BookCategoryIds;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.book.BookSearchCursor;
+import bookstore.repository.book.BookSortKey;
+import bookstore.repository.book.PriceSpecificationProvider;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory inverted index over book title, author, description and ISBN.
+ * Every term maps to a {@link BookIdBitmap} of book ids, so a search is a
+ * handful of id merges instead of a database round trip and a write touches
+ * one container per term instead of copying whole id arrays. Category membership is kept
+ * as one {@link BookIdBitmap} per category, so category pages and counts are
+ * answered without touching the join table. Authors and price ranges get
+ * bitmaps of their own, and facet counts are intersections of those bitmaps
+ * with the search result. Description terms keep their frequencies for BM25
+ * ranking of full-text queries.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BookSearchIndex {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final long[] EMPTY = new long[0];
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]");
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    private Map<Field, NavigableMap<String, BookIdBitmap>> postings = new EnumMap<>(Field.class);
+    private Map<Long, IndexedBook> books = new HashMap<>();
+    private Map<Long, BookIdBitmap> categoryMembers = new HashMap<>();
+    private Map<String, BookIdBitmap> authorMembers = new HashMap<>();
+    private Map<Integer, BookIdBitmap> priceRangeMembers = new HashMap<>();
+    private BookIdBitmap allBooks = new BookIdBitmap();
+    private long totalDescriptionLength;
+    private List<Runnable> pendingChanges;
+    private volatile boolean built;
+    @Value("${book.search.index.enabled:true}")
+    private boolean enabled;
+    @Value("${book.search.facets.price-boundaries:10,25,50,100}")
+    private BigDecimal[] priceBoundaries;
+    @Value("${book.search.facets.limit:10}")
+    private int facetLimit;
+
+    /**
+     * Tells whether searches can be answered from the index. Stays false until
+     * the first build is published, so callers read from the database while
+     * the application warms up instead of returning an empty catalog.
+     */
+    public boolean isEnabled() {
+        return enabled && built;
+    }
+
+    /**
+     * Builds a fresh index from the database without holding the index lock,
+     * then swaps it in. Books are read in keyset batches by id, so posting
+     * lists are plain appends and no batch skips or counts rows. Changes
+     * made while the rebuild runs are recorded and replayed on the new index
+     * before it is published.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            IndexBuilder builder = new IndexBuilder();
+            try {
+                Pageable batch = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+                long lastId = 0;
+                Slice<Book> slice;
+                do {
+                    slice = bookRepository.findAllByIdGreaterThan(lastId, batch);
+                    builder.addAll(slice.getContent());
+                    if (slice.hasContent()) {
+                        lastId = slice.getContent().get(slice.getNumberOfElements() - 1).getId();
+                    }
+                } while (slice.hasNext());
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                builder.install();
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Book search index built with {} books", builder.books.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void index(Book book) {
+        indexAll(List.of(book));
+    }
+
+    /**
+     * Replaces the entries of the given books with one category lookup and
+     * one write lock for the whole batch. The new entries are collected off
+     * the lock into sorted id lists and merged into each bitmap in one pass.
+     */
+    public void indexAll(List<Book> books) {
+        if (!enabled || books.isEmpty()) {
+            return;
+        }
+        Map<Long, IndexedBook> byId = new TreeMap<>();
+        indexedBooks(books).forEach(indexedBook -> byId.put(indexedBook.id(), indexedBook));
+        IndexBuilder builder = new IndexBuilder();
+        byId.values().forEach(builder::add);
+        lock.writeLock().lock();
+        try {
+            apply(() -> {
+                builder.books.keySet().forEach(this::removeBook);
+                builder.merge();
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(() -> removeBook(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the membership of a deleted category and the category id from its
+     * books, so facet tallies over a book's categories no longer see it.
+     * Books stay indexed.
+     */
+    public void removeCategory(Long categoryId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(() -> {
+                BookIdBitmap members = categoryMembers.remove(categoryId);
+                if (members != null) {
+                    members.forEach(id -> books.computeIfPresent(id,
+                            (bookId, book) -> book.withoutCategory(categoryId)));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of the books of a category together with the category
+     * size. Id order is sliced straight from the membership bitmap, other
+     * orders keep a heap of {@code offset + limit} books.
+     */
+    public BookIdPage findByCategory(Long categoryId, BookSortKey sortKey, boolean descending,
+                                     long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            BookIdBitmap members = categoryMembers.get(categoryId);
+            if (members == null) {
+                return new BookIdPage(EMPTY, 0);
+            }
+            if (sortKey == BookSortKey.ID) {
+                long[] ids = descending ? members.sliceDescending(offset, limit)
+                        : members.slice(offset, limit);
+                return new BookIdPage(ids, members.cardinality());
+            }
+            if (offset >= members.cardinality()) {
+                return new BookIdPage(EMPTY, members.cardinality());
+            }
+            Comparator<IndexedBook> order = descending
+                    ? comparator(sortKey).reversed() : comparator(sortKey);
+            int size = (int) Math.min(offset + limit, members.cardinality());
+            PriorityQueue<IndexedBook> heap = new PriorityQueue<>(size + 1, order.reversed());
+            members.forEach(id -> {
+                heap.offer(books.get(id));
+                if (heap.size() > size) {
+                    heap.poll();
+                }
+            });
+            long[] ids = heap.stream()
+                    .sorted(order)
+                    .skip(offset)
+                    .mapToLong(IndexedBook::id)
+                    .toArray();
+            return new BookIdPage(ids, members.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the books matching the other parameters by Okapi BM25 of the
+     * full-text query against their description. Query terms match description
+     * terms exactly, after the same tokenization. Only a heap of
+     * {@code offset + limit} hits is kept, the total counts every match.
+     */
+    public BookFullTextHits fullText(BookSearchParameters params, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] candidates = matches(params);
+            NavigableMap<String, BookIdBitmap> descriptionPostings =
+                    postings.getOrDefault(Field.DESCRIPTION, new TreeMap<>());
+            double averageLength = books.isEmpty() ? 0 : (double) totalDescriptionLength
+                    / books.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : tokenize(Field.DESCRIPTION, params.query())) {
+                BookIdBitmap ids = descriptionPostings.get(term);
+                if (ids == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (books.size() - ids.cardinality() + 0.5)
+                        / (ids.cardinality() + 0.5));
+                ids.forEach(id -> {
+                    if (candidates != null && Arrays.binarySearch(candidates, id) < 0) {
+                        return;
+                    }
+                    IndexedBook book = books.get(id);
+                    int frequency = book.descriptionFrequency(term);
+                    double norm = BM25_K1 * (1 - BM25_B
+                            + BM25_B * book.descriptionLength() / averageLength);
+                    scores.merge(id, idf * frequency * (BM25_K1 + 1) / (frequency + norm),
+                            Double::sum);
+                });
+            }
+            Comparator<BookFullTextHit> order = Comparator
+                    .comparingDouble(BookFullTextHit::score).reversed()
+                    .thenComparingLong(BookFullTextHit::id);
+            long size = Math.min(offset + limit, scores.size());
+            PriorityQueue<BookFullTextHit> heap = new PriorityQueue<>(order.reversed());
+            scores.forEach((id, score) -> {
+                heap.offer(new BookFullTextHit(id, score));
+                if (heap.size() > size) {
+                    heap.poll();
+                }
+            });
+            return new BookFullTextHits(heap.stream()
+                    .sorted(order)
+                    .skip(offset)
+                    .toList(), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the matching books per category, author and price range. Small
+     * results are tallied book by book, large ones are intersected with every
+     * facet bitmap, so the cost is bounded by the smaller of the two. Only the
+     * largest category and author counts are returned; every price range is.
+     */
+    public BookFacetsDto facets(BookSearchParameters params) {
+        lock.readLock().lock();
+        try {
+            return facetsOf(matches(params));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of all matching books in ascending order. Values of one
+     * parameter are alternatives, different parameters must all match. Every
+     * token of a value is matched case-insensitively as a term prefix.
+     */
+    public long[] search(BookSearchParameters params) {
+        lock.readLock().lock();
+        try {
+            long[] matches = matches(params);
+            return matches == null ? allBooks.toArray() : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} matching ids ordered by {@code sortKey} and id,
+     * starting right after the {@code after} cursor, and the facet counts of
+     * every match when {@code withFacets} is set. Both are taken from one match
+     * set under one read lock, so the counts always describe the same result
+     * as the page. Only a bounded heap of {@code limit} ids is kept, however
+     * many books match.
+     */
+    public BookSearchPage search(BookSearchParameters params, BookSortKey sortKey,
+                                 BookSearchCursor after, int limit, boolean withFacets) {
+        lock.readLock().lock();
+        try {
+            long[] matches = matches(params);
+            return new BookSearchPage(pageOf(matches, sortKey, after, limit),
+                    withFacets ? facetsOf(matches) : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of all matching books in ascending order, or null when
+     * every indexed book matches, so unfiltered searches never copy the id
+     * set. Called under the read lock.
+     */
+    private long[] matches(BookSearchParameters params) {
+        long[] result = null;
+        result = intersect(result, matchAny(Field.TITLE, params.titles()));
+        result = intersect(result, matchAny(Field.AUTHOR, params.authors()));
+        result = intersect(result, matchAny(Field.DESCRIPTION, params.descriptions()));
+        result = intersect(result, matchAny(Field.ISBN, params.isbns()));
+        if (params.prices() != null && params.prices().length > 0) {
+            result = filterByPrice(result, params.prices());
+        }
+        return filterByPrefixAndRange(result, params);
+    }
+
+    private long[] pageOf(long[] matches, BookSortKey sortKey, BookSearchCursor after,
+                          int limit) {
+        if (sortKey == BookSortKey.ID) {
+            if (matches == null) {
+                return allBooks.slice(after == null ? 0 : allBooks.rank(after.id()), limit);
+            }
+            int from = 0;
+            if (after != null) {
+                int position = Arrays.binarySearch(matches, after.id());
+                from = position >= 0 ? position + 1 : -position - 1;
+            }
+            return Arrays.copyOfRange(matches, from, Math.min(from + limit, matches.length));
+        }
+        Comparator<IndexedBook> order = comparator(sortKey);
+        IndexedBook cursor = after == null ? null : cursorBook(sortKey, after);
+        PriorityQueue<IndexedBook> heap = new PriorityQueue<>(limit + 1, order.reversed());
+        forEachMatch(matches, id -> {
+            IndexedBook book = books.get(id);
+            if (cursor != null && order.compare(book, cursor) <= 0) {
+                return;
+            }
+            heap.offer(book);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        });
+        return heap.stream()
+                .sorted(order)
+                .mapToLong(IndexedBook::id)
+                .toArray();
+    }
+
+    private BookFacetsDto facetsOf(long[] matches) {
+        BookIdBitmap result = matches == null ? null : BookIdBitmap.of(matches);
+        List<CategoryFacetDto> categories = topCounts(categoryMembers, matches, result,
+                book -> Arrays.stream(book.categoryIds()).boxed().toList()).stream()
+                .map(count -> new CategoryFacetDto(count.getKey(), count.getValue()))
+                .toList();
+        List<AuthorFacetDto> authors = topCounts(authorMembers, matches, result,
+                book -> List.of(book.author())).stream()
+                .map(count -> new AuthorFacetDto(count.getKey(), count.getValue()))
+                .toList();
+        BigDecimal[] boundaries = priceBoundaries();
+        List<PriceRangeFacetDto> priceRanges = new ArrayList<>(boundaries.length + 1);
+        for (int range = 0; range <= boundaries.length; range++) {
+            BookIdBitmap members = priceRangeMembers.get(range);
+            long count = members == null ? 0 : result == null ? members.cardinality()
+                    : result.andCardinality(members);
+            priceRanges.add(new PriceRangeFacetDto(range == 0 ? null : boundaries[range - 1],
+                    range == boundaries.length ? null : boundaries[range], count));
+        }
+        return new BookFacetsDto(categories, authors, priceRanges);
+    }
+
+    private void forEachMatch(long[] matches, LongConsumer action) {
+        if (matches == null) {
+            allBooks.forEach(action);
+            return;
+        }
+        for (long id : matches) {
+            action.accept(id);
+        }
+    }
+
+    /**
+     * Applies a change to the live index and, while a rebuild is running,
+     * records it for replay on the rebuilt one. Called under the write lock.
+     */
+    private void apply(Runnable change) {
+        change.run();
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private List<IndexedBook> indexedBooks(List<Book> books) {
+        BookCategoryIds categoryIds = BookCategoryIds.of(bookRepository.findCategoryIdsByBookIds(
+                books.stream().map(Book::getId).toList()));
+        return books.stream()
+                .map(book -> indexedBook(book, categoryIds.get(book.getId()).stream()
+                        .mapToLong(Long::longValue)
+                        .toArray()))
+                .toList();
+    }
+
+    private IndexedBook indexedBook(Book book, long[] categoryIds) {
+        Map<Field, String[]> terms = new EnumMap<>(Field.class);
+        terms.put(Field.TITLE, tokenize(Field.TITLE, book.getTitle()));
+        terms.put(Field.AUTHOR, tokenize(Field.AUTHOR, book.getAuthor()));
+        String[] descriptionTokens = tokens(book.getDescription());
+        Map<String, Integer> descriptionFrequencies = new LinkedHashMap<>();
+        for (String token : descriptionTokens) {
+            descriptionFrequencies.merge(token, 1, Integer::sum);
+        }
+        terms.put(Field.DESCRIPTION, descriptionFrequencies.keySet().toArray(String[]::new));
+        terms.put(Field.ISBN, tokenize(Field.ISBN, book.getIsbn()));
+        return new IndexedBook(book.getId(), book.getTitle(), book.getAuthor(), book.getPrice(),
+                terms, categoryIds, descriptionFrequencies.values().stream()
+                        .mapToInt(Integer::intValue)
+                        .toArray(), descriptionTokens.length);
+    }
+
+    private void removeBook(long id) {
+        IndexedBook indexedBook = books.remove(id);
+        if (indexedBook == null) {
+            return;
+        }
+        indexedBook.terms().forEach((field, fieldTerms) -> {
+            NavigableMap<String, BookIdBitmap> fieldPostings = postings.get(field);
+            for (String term : fieldTerms) {
+                removeMember(fieldPostings, term, id);
+            }
+        });
+        for (long categoryId : indexedBook.categoryIds()) {
+            removeMember(categoryMembers, categoryId, id);
+        }
+        removeMember(authorMembers, indexedBook.author(), id);
+        removeMember(priceRangeMembers, priceRange(indexedBook.price()), id);
+        allBooks.remove(id);
+        totalDescriptionLength -= indexedBook.descriptionLength();
+    }
+
+    private static <K> void removeMember(Map<K, BookIdBitmap> members, K value, long id) {
+        BookIdBitmap bitmap = members.get(value);
+        if (bitmap != null && bitmap.remove(id) && bitmap.isEmpty()) {
+            members.remove(value);
+        }
+    }
+
+    private <K extends Comparable<K>> List<Map.Entry<K, Integer>> topCounts(
+            Map<K, BookIdBitmap> members, long[] matches, BookIdBitmap result,
+            Function<IndexedBook, List<K>> valuesOf) {
+        Map<K, Integer> counts = new HashMap<>();
+        int matchCount = matches == null ? allBooks.cardinality() : matches.length;
+        if (matchCount < members.size()) {
+            forEachMatch(matches, id -> {
+                for (K value : valuesOf.apply(books.get(id))) {
+                    counts.merge(value, 1, Integer::sum);
+                }
+            });
+        } else {
+            members.forEach((value, bitmap) -> {
+                int count = result == null ? bitmap.cardinality() : result.andCardinality(bitmap);
+                if (count > 0) {
+                    counts.put(value, count);
+                }
+            });
+        }
+        Comparator<Map.Entry<K, Integer>> order = Map.Entry.<K, Integer>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<K, Integer>> heap =
+                new PriorityQueue<>(facetLimit + 1, order.reversed());
+        for (Map.Entry<K, Integer> count : counts.entrySet()) {
+            heap.offer(count);
+            if (heap.size() > facetLimit) {
+                heap.poll();
+            }
+        }
+        return heap.stream()
+                .sorted(order)
+                .toList();
+    }
+
+    private int priceRange(BigDecimal price) {
+        BigDecimal[] boundaries = priceBoundaries();
+        int range = 0;
+        while (range < boundaries.length && price.compareTo(boundaries[range]) >= 0) {
+            range++;
+        }
+        return range;
+    }
+
+    private BigDecimal[] priceBoundaries() {
+        return priceBoundaries == null ? new BigDecimal[0] : priceBoundaries;
+    }
+
+    private long[] matchAny(Field field, String[] values) {
+        if (values == null || values.length == 0) {
+            return null;
+        }
+        List<long[]> matches = new ArrayList<>(values.length);
+        for (String value : values) {
+            matches.add(matchAll(field, tokenize(field, value)));
+        }
+        return union(matches);
+    }
+
+    private long[] matchAll(Field field, String[] tokens) {
+        if (tokens.length == 0) {
+            return EMPTY;
+        }
+        NavigableMap<String, BookIdBitmap> fieldPostings =
+                postings.getOrDefault(field, new TreeMap<>());
+        long[] result = null;
+        for (String token : tokens) {
+            List<long[]> matches = fieldPostings
+                    .subMap(token, true, token + Character.MAX_VALUE, false)
+                    .values().stream()
+                    .map(BookIdBitmap::toArray)
+                    .toList();
+            result = intersect(result, union(matches));
+            if (result.length == 0) {
+                return EMPTY;
+            }
+        }
+        return result;
+    }
+
+    private long[] filterByPrice(long[] ids, String[] prices) {
+        BigDecimal[] expected = Arrays.stream(prices)
+                .map(PriceSpecificationProvider::toPrice)
+                .toArray(BigDecimal[]::new);
+        return Arrays.stream(ids == null ? allBooks.toArray() : ids)
+                .filter(id -> Arrays.stream(expected)
+                        .anyMatch(price -> price.compareTo(books.get(id).price()) == 0))
+                .toArray();
+    }
+
+    /**
+     * Applies title and author prefixes case-insensitively and the inclusive
+     * price range, mirroring the prefix and range specifications.
+     */
+    private long[] filterByPrefixAndRange(long[] ids, BookSearchParameters params) {
+        String titlePrefix = prefix(params.titlePrefix());
+        String authorPrefix = prefix(params.authorPrefix());
+        BigDecimal minPrice = params.minPrice();
+        BigDecimal maxPrice = params.maxPrice();
+        if (titlePrefix == null && authorPrefix == null && minPrice == null && maxPrice == null) {
+            return ids;
+        }
+        return Arrays.stream(ids == null ? allBooks.toArray() : ids)
+                .filter(id -> {
+                    IndexedBook book = books.get(id);
+                    return startsWith(book.title(), titlePrefix)
+                            && startsWith(book.author(), authorPrefix)
+                            && (minPrice == null || book.price().compareTo(minPrice) >= 0)
+                            && (maxPrice == null || book.price().compareTo(maxPrice) <= 0);
+                })
+                .toArray();
+    }
+
+    private static String prefix(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static boolean startsWith(String value, String prefix) {
+        return prefix == null || value.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private static Comparator<IndexedBook> comparator(BookSortKey sortKey) {
+        Comparator<IndexedBook> byKey = switch (sortKey) {
+            case TITLE -> Comparator.comparing(IndexedBook::title, String.CASE_INSENSITIVE_ORDER);
+            case AUTHOR -> Comparator.comparing(IndexedBook::author,
+                    String.CASE_INSENSITIVE_ORDER);
+            case PRICE -> Comparator.comparing(IndexedBook::price);
+            default -> (left, right) -> 0;
+        };
+        return byKey.thenComparingLong(IndexedBook::id);
+    }
+
+    private static IndexedBook cursorBook(BookSortKey sortKey, BookSearchCursor after) {
+        return switch (sortKey) {
+            case TITLE -> new IndexedBook(after.id(), after.value(), null, null, null, null,
+                    null, 0);
+            case AUTHOR -> new IndexedBook(after.id(), null, after.value(), null, null, null,
+                    null, 0);
+            case PRICE -> new IndexedBook(after.id(), null, null, new BigDecimal(after.value()),
+                    null, null, null, 0);
+            default -> new IndexedBook(after.id(), null, null, null, null, null, null, 0);
+        };
+    }
+
+    private static String[] tokenize(Field field, String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        if (field == Field.ISBN) {
+            String compact = NON_ALPHANUMERIC.matcher(text.toLowerCase(Locale.ROOT))
+                    .replaceAll("");
+            return compact.isEmpty() ? new String[0] : new String[]{compact};
+        }
+        return Arrays.stream(tokens(text))
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Splits text into lower-case terms, keeping repeated ones.
+     */
+    static String[] tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        long[] result = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] union(List<long[]> postingLists) {
+        if (postingLists.isEmpty()) {
+            return EMPTY;
+        }
+        if (postingLists.size() == 1) {
+            return postingLists.get(0);
+        }
+        long[] merged = postingLists.stream()
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        int size = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (size == 0 || merged[size - 1] != merged[i]) {
+                merged[size++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    private enum Field {
+        TITLE, AUTHOR, DESCRIPTION, ISBN
+    }
+
+    /**
+     * Collects a complete index away from the live one. Books must be added in
+     * ascending id order, which keeps every id list sorted by appending.
+     */
+    private final class IndexBuilder {
+        private final Map<Field, Map<String, IdBuffer>> postings = new EnumMap<>(Field.class);
+        private final Map<Long, IndexedBook> books = new HashMap<>();
+        private final Map<Long, IdBuffer> categoryMembers = new HashMap<>();
+        private final Map<String, IdBuffer> authorMembers = new HashMap<>();
+        private final Map<Integer, IdBuffer> priceRangeMembers = new HashMap<>();
+        private final IdBuffer allBooks = new IdBuffer();
+        private long totalDescriptionLength;
+
+        void addAll(List<Book> books) {
+            indexedBooks(books).forEach(this::add);
+        }
+
+        void add(IndexedBook indexedBook) {
+            final long id = indexedBook.id();
+            indexedBook.terms().forEach((field, fieldTerms) -> {
+                Map<String, IdBuffer> fieldPostings =
+                        postings.computeIfAbsent(field, f -> new HashMap<>());
+                for (String term : fieldTerms) {
+                    fieldPostings.computeIfAbsent(term, t -> new IdBuffer()).append(id);
+                }
+            });
+            for (long categoryId : indexedBook.categoryIds()) {
+                categoryMembers.computeIfAbsent(categoryId, c -> new IdBuffer()).append(id);
+            }
+            authorMembers.computeIfAbsent(indexedBook.author(), a -> new IdBuffer()).append(id);
+            priceRangeMembers.computeIfAbsent(priceRange(indexedBook.price()),
+                    r -> new IdBuffer()).append(id);
+            books.put(id, indexedBook);
+            allBooks.append(id);
+            totalDescriptionLength += indexedBook.descriptionLength();
+        }
+
+        /**
+         * Publishes the collected structures. Called under the write lock.
+         */
+        void install() {
+            Map<Field, NavigableMap<String, BookIdBitmap>> builtPostings =
+                    new EnumMap<>(Field.class);
+            postings.forEach((field, fieldPostings) ->
+                    builtPostings.put(field, new TreeMap<>(bitmaps(fieldPostings))));
+            BookSearchIndex.this.postings = builtPostings;
+            BookSearchIndex.this.books = books;
+            BookSearchIndex.this.categoryMembers = bitmaps(categoryMembers);
+            BookSearchIndex.this.authorMembers = bitmaps(authorMembers);
+            BookSearchIndex.this.priceRangeMembers = bitmaps(priceRangeMembers);
+            BookSearchIndex.this.allBooks = BookIdBitmap.of(allBooks.toArray());
+            BookSearchIndex.this.totalDescriptionLength = totalDescriptionLength;
+            built = true;
+        }
+
+        /**
+         * Adds the collected books to the live index, which must not hold any
+         * of them. Called under the write lock.
+         */
+        void merge() {
+            postings.forEach((field, fieldPostings) -> merge(fieldPostings,
+                    BookSearchIndex.this.postings.computeIfAbsent(field, f -> new TreeMap<>())));
+            merge(categoryMembers, BookSearchIndex.this.categoryMembers);
+            merge(authorMembers, BookSearchIndex.this.authorMembers);
+            merge(priceRangeMembers, BookSearchIndex.this.priceRangeMembers);
+            BookSearchIndex.this.books.putAll(books);
+            BookSearchIndex.this.allBooks.addAll(allBooks.toArray());
+            BookSearchIndex.this.totalDescriptionLength += totalDescriptionLength;
+        }
+
+        private static <K> void merge(Map<K, IdBuffer> members, Map<K, BookIdBitmap> target) {
+            members.forEach((key, ids) ->
+                    target.computeIfAbsent(key, k -> new BookIdBitmap()).addAll(ids.toArray()));
+        }
+
+        private static <K> Map<K, BookIdBitmap> bitmaps(Map<K, IdBuffer> members) {
+            Map<K, BookIdBitmap> bitmaps = new HashMap<>();
+            members.forEach((key, ids) -> bitmaps.put(key, BookIdBitmap.of(ids.toArray())));
+            return bitmaps;
+        }
+    }
+
+    /**
+     * Growable array of ascending book ids.
+     */
+    private static final class IdBuffer {
+        private long[] ids = new long[4];
+        private int size;
+
+        void append(long id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    private record IndexedBook(long id, String title, String author, BigDecimal price,
+                               Map<Field, String[]> terms, long[] categoryIds,
+                               int[] descriptionFrequencies, int descriptionLength) {
+        IndexedBook withoutCategory(long categoryId) {
+            return new IndexedBook(id, title, author, price, terms, Arrays.stream(categoryIds)
+                    .filter(existing -> existing != categoryId)
+                    .toArray(), descriptionFrequencies, descriptionLength);
+        }
+
+        int descriptionFrequency(String term) {
+            String[] descriptionTerms = terms.get(Field.DESCRIPTION);
+            for (int i = 0; i < descriptionTerms.length; i++) {
+                if (descriptionTerms[i].equals(term)) {
+                    return descriptionFrequencies[i];
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package bookstore.search;
+
+import bookstore.dto.book.BookFacetsDto;
+
+/**
+ * One page of matching book ids and, when requested, the facet counts of all
+ * matches.
+ */
+public record BookSearchPage(long[] ids, BookFacetsDto facets) {
+}
@@ -0,0 +1,36 @@
+package bookstore.search;
+
+import bookstore.dto.book.BookSearchParameters;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@ConditionalOnProperty(name = "book.search.full-text.backend", havingValue = "index",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+@Component
+public class IndexBookFullTextSearch implements BookFullTextSearch {
+    private final BookSearchIndex bookSearchIndex;
+    @Value("${book.search.index.enabled:true}")
+    private boolean indexEnabled;
+
+    /**
+     * A disabled index is never built, so every query would silently come back
+     * empty. Refuse to start instead.
+     */
+    @PostConstruct
+    public void checkIndexEnabled() {
+        if (!indexEnabled) {
+            throw new IllegalStateException("book.search.full-text.backend=index needs "
+                    + "book.search.index.enabled=true; set the backend to mysql to search "
+                    + "without the index");
+        }
+    }
+
+    @Override
+    public BookFullTextHits search(BookSearchParameters params, long offset, int limit) {
+        return bookSearchIndex.fullText(params, offset, limit);
+    }
+}
@@ -0,0 +1,59 @@
+package bookstore.search;
+
+import bookstore.dto.book.BookSearchParameters;
+import bookstore.model.Book;
+import bookstore.repository.book.BookSpecificationBuilder;
+import bookstore.repository.book.FullTextSpecificationProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ranks with MySQL natural language FULLTEXT search, whose InnoDB relevance is
+ * a BM25 variant. The full-text predicate comes from
+ * {@link FullTextSpecificationProvider} through the regular specification
+ * builder, so it combines with every other search parameter.
+ */
+@ConditionalOnProperty(name = "book.search.full-text.backend", havingValue = "mysql")
+@RequiredArgsConstructor
+@Component
+public class MySqlBookFullTextSearch implements BookFullTextSearch {
+    private final BookSpecificationBuilder bookSpecificationBuilder;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public BookFullTextHits search(BookSearchParameters params, long offset, int limit) {
+        Specification<Book> specification = bookSpecificationBuilder.build(params);
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Expression<Double> relevance = FullTextSpecificationProvider.relevance(root,
+                criteriaBuilder, params.query());
+        query.multiselect(root.get("id"), relevance)
+                .where(specification.toPredicate(root, query, criteriaBuilder))
+                .orderBy(criteriaBuilder.desc(relevance), criteriaBuilder.asc(root.get("id")));
+        List<BookFullTextHit> hits = entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> new BookFullTextHit(tuple.get(0, Long.class),
+                        tuple.get(1, Double.class)))
+                .toList();
+        CriteriaQuery<Long> countQuery = criteriaBuilder.createQuery(Long.class);
+        Root<Book> countRoot = countQuery.from(Book.class);
+        countQuery.select(criteriaBuilder.count(countRoot))
+                .where(specification.toPredicate(countRoot, countQuery, criteriaBuilder));
+        return new BookFullTextHits(hits, entityManager.createQuery(countQuery).getSingleResult());
+    }
+}
@@ -19,7 +19,9 @@ public class AuthenticationService {
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
         );
 
-        String token = jwtUtil.generateToken(authentication.getName());
+        String token = authentication.getPrincipal() instanceof UserPrincipal principal
+                ? jwtUtil.generateToken(principal.id(), principal)
+                : jwtUtil.generateToken(authentication.getName());
         return new UserLoginResponseDto(token);
     }
 }
@@ -1,20 +1,44 @@
 package bookstore.security;
 
+import bookstore.config.CacheConfig;
+import bookstore.exception.EntityNotFoundException;
+import bookstore.model.User;
 import bookstore.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Component
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService,
+        UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username).orElseThrow(() ->
-                new RuntimeException("Can't find user by email"));
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#username")
+    public UserPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userRepository.findByEmail(username)
+                .map(UserPrincipal::of)
+                .orElseThrow(() ->
+                        new EntityNotFoundException("Can't find user by email " + username));
+    }
+
+    /**
+     * Stores a password rehashed on login with the current encoder settings. The
+     * entity update evicts the cached principal.
+     */
+    @Override
+    @Transactional
+    public UserPrincipal updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Can't find user by email " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        return UserPrincipal.of(user);
     }
 }
@@ -0,0 +1,30 @@
+package bookstore.security;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cost and capacity of password hashing. Raising {@code bcryptStrength} rehashes
+ * each stored password on the user's next successful login.
+ */
+@ConfigurationProperties("password.hashing")
+public record PasswordHashingProperties(Integer bcryptStrength,
+                                        Integer threads,
+                                        Integer queueCapacity,
+                                        Duration retryAfter) {
+    public int bcryptStrengthOrDefault() {
+        return bcryptStrength == null ? 10 : bcryptStrength;
+    }
+
+    public int threadsOrDefault() {
+        return threads == null ? Runtime.getRuntime().availableProcessors() : threads;
+    }
+
+    public int queueCapacityOrDefault() {
+        return queueCapacity == null ? 64 : queueCapacity;
+    }
+
+    public Duration retryAfterOrDefault() {
+        return retryAfter == null ? Duration.ofSeconds(1) : retryAfter;
+    }
+}
@@ -0,0 +1,67 @@
+package bookstore.security;
+
+import bookstore.model.Role;
+import bookstore.repository.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells whether the principal of a stateless token still matches its user: the
+ * user must exist, must not be deleted and must hold exactly the roles in the
+ * token. Current roles are cached for a short time, so a deleted user or a
+ * removed role loses access within that time while most requests never reach
+ * the database.
+ */
+@Component
+public class UserRevocationChecker {
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Cache<Long, Optional<Set<String>>> currentRoles;
+
+    public UserRevocationChecker(UserRepository userRepository,
+                                 @Value("${jwt.revocation-check.enabled:true}") boolean enabled,
+                                 @Value("${jwt.revocation-check.ttl:30s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.currentRoles = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isActive(UserPrincipal principal) {
+        if (!enabled) {
+            return true;
+        }
+        // Loaded outside Caffeine's compute lock, so the query never runs while a
+        // hash bin is locked and cannot pin a virtual thread's carrier.
+        Optional<Set<String>> roles = currentRoles.getIfPresent(principal.id());
+        if (roles == null) {
+            roles = rolesOf(userRepository.findRoleNamesById(principal.id()));
+            currentRoles.put(principal.id(), roles);
+        }
+        Set<String> tokenRoles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        return roles.map(tokenRoles::equals).orElse(false);
+    }
+
+    private static Optional<Set<String>> rolesOf(List<Role.RoleName> roleNames) {
+        if (roleNames.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(roleNames.stream()
+                .filter(Objects::nonNull)
+                .map(Enum::name)
+                .collect(Collectors.toSet()));
+    }
+}
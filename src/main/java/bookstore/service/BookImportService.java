@@ -0,0 +1,11 @@
+package bookstore.service;
+
+import bookstore.dto.book.BookImportResultDto;
+import bookstore.importer.BookImportFormat;
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportResultDto importBooks(BookImportFormat format, InputStream inputStream)
+            throws IOException;
+}
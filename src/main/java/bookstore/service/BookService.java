@@ -3,8 +3,13 @@ package bookstore.service;
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.BookSearchParameters;
+import bookstore.dto.book.BookSearchResultDto;
 import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.export.BookExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface BookService {
@@ -18,7 +23,9 @@ public interface BookService {
 
     BookDto updateById(Long id, CreateBookRequestDto requestDto);
 
-    List<BookDto> search(BookSearchParameters params);
+    BookSearchResultDto search(BookSearchParameters params);
 
-    List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long categoryId);
+    Page<BookDtoWithoutCategoryIds> findAllByCategoryId(Long categoryId, Pageable pageable);
+
+    void export(BookExportFormat format, OutputStream outputStream) throws IOException;
 }
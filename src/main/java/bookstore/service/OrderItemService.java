@@ -2,9 +2,12 @@ package bookstore.service;
 
 import bookstore.dto.orderitem.OrderItemResponseDto;
 import bookstore.model.OrderItem;
+import java.util.Collection;
 
 public interface OrderItemService {
     OrderItem save(OrderItem orderItem);
 
+    void saveAll(Collection<OrderItem> orderItems);
+
     OrderItemResponseDto findByOrderIdAndId(Long orderId, Long itemId);
 }
@@ -0,0 +1,189 @@
+package bookstore.service.impl;
+
+import bookstore.config.CacheConfig;
+import bookstore.dto.book.BookImportErrorDto;
+import bookstore.dto.book.BookImportResultDto;
+import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.importer.BookImportFormat;
+import bookstore.importer.BookImportReader;
+import bookstore.importer.BookImportRecord;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.category.BookCategoriesCacheEvictionListener;
+import bookstore.repository.category.CategoryRepository;
+import bookstore.search.BookSearchIndex;
+import bookstore.service.BookImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int PROGRESS_LOG_CHUNKS = 10;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final BookRepository bookRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Reads the upload in chunks of {@value #CHUNK_SIZE} rows. Each chunk is
+     * validated and then written in its own transaction, so a failing chunk
+     * neither rolls back earlier ones nor stops the import. The search index
+     * is updated after every committed chunk, and the books reloaded for it
+     * are dropped from the persistence context again, which the open session
+     * of the request would otherwise keep until the whole upload is read.
+     */
+    @Override
+    public BookImportResultDto importBooks(BookImportFormat format, InputStream inputStream)
+            throws IOException {
+        Progress progress = new Progress();
+        try (BookImportReader reader = format.newReader(objectMapper, inputStream)) {
+            List<BookImportRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (BookImportRecord row = reader.next(); row != null; row = reader.next()) {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, progress);
+        } finally {
+            if (progress.inserted + progress.updated > 0) {
+                entityManagerFactory.getCache().unwrap(Cache.class).evictCollectionData(
+                        BookCategoriesCacheEvictionListener.BOOK_CATEGORIES_REGION);
+                Optional.ofNullable(cacheManager.getCache(CacheConfig.BOOKS_CACHE))
+                        .ifPresent(books -> books.clear());
+            }
+            log.info("Book import finished: {} rows, {} inserted, {} updated, {} failed",
+                    progress.processed, progress.inserted, progress.updated, progress.failed);
+        }
+        return progress.toDto();
+    }
+
+    private void importChunk(List<BookImportRecord> chunk, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, BookImportRecord> byIsbn = new LinkedHashMap<>();
+        for (BookImportRecord row : chunk) {
+            progress.processed++;
+            String error = row.error() != null ? row.error() : validate(row.book());
+            if (error != null) {
+                progress.fail(row.row(), error);
+                continue;
+            }
+            BookImportRecord superseded = byIsbn.put(row.book().getIsbn(), row);
+            if (superseded != null) {
+                progress.fail(superseded.row(),
+                        "Superseded by row " + row.row() + " with the same ISBN");
+            }
+        }
+        rejectUnknownCategories(byIsbn, progress);
+        List<CreateBookRequestDto> books = byIsbn.values().stream()
+                .map(BookImportRecord::book)
+                .toList();
+        boolean written = false;
+        try {
+            int updated = bookRepository.upsertAllByIsbn(books);
+            progress.updated += updated;
+            progress.inserted += books.size() - updated;
+            written = true;
+        } catch (DataAccessException e) {
+            String message = "Can't write row: " + e.getMostSpecificCause().getMessage();
+            byIsbn.values().forEach(row -> progress.fail(row.row(), message));
+        }
+        if (written) {
+            bookSearchIndex.indexAll(bookRepository.findAllByIsbnIn(byIsbn.keySet()));
+            entityManager.clear();
+        }
+        if (++progress.chunks % PROGRESS_LOG_CHUNKS == 0) {
+            log.info("Book import: {} rows processed, {} failed",
+                    progress.processed, progress.failed);
+        }
+    }
+
+    private String validate(CreateBookRequestDto book) {
+        Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void rejectUnknownCategories(Map<String, BookImportRecord> byIsbn,
+                                         Progress progress) {
+        Set<Long> categoryIds = byIsbn.values().stream()
+                .map(row -> row.book().getCategoryIds())
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+        Set<Long> existing = new HashSet<>(categoryRepository.findExistingIds(categoryIds));
+        byIsbn.values().removeIf(row -> {
+            List<Long> ids = row.book().getCategoryIds();
+            if (ids == null || existing.containsAll(ids)) {
+                return false;
+            }
+            progress.fail(row.row(), "Unknown category ids " + ids.stream()
+                    .filter(id -> !existing.contains(id))
+                    .toList());
+            return true;
+        });
+    }
+
+    private static class Progress {
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long processed;
+        private long inserted;
+        private long updated;
+        private long failed;
+        private long chunks;
+
+        void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportErrorDto(row, message));
+            }
+        }
+
+        BookImportResultDto toDto() {
+            errors.sort(Comparator.comparingLong(BookImportErrorDto::row));
+            return new BookImportResultDto(processed, inserted, updated, failed, errors);
+        }
+    }
+}
@@ -1,42 +1,86 @@
 package bookstore.service.impl;
 
+import bookstore.config.CacheConfig;
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
+import bookstore.dto.book.BookFacetsDto;
+import bookstore.dto.book.BookSearchHitDto;
 import bookstore.dto.book.BookSearchParameters;
+import bookstore.dto.book.BookSearchResultDto;
 import bookstore.dto.book.CreateBookRequestDto;
 import bookstore.exception.EntityNotFoundException;
+import bookstore.exception.InvalidSearchParameterException;
+import bookstore.export.BookExportFormat;
+import bookstore.export.BookExportWriter;
 import bookstore.mapper.BookMapper;
 import bookstore.model.Book;
+import bookstore.repository.book.BookCategoryIds;
+import bookstore.repository.book.BookExportRow;
 import bookstore.repository.book.BookRepository;
+import bookstore.repository.book.BookSearchCursor;
+import bookstore.repository.book.BookSortKey;
 import bookstore.repository.book.BookSpecificationBuilder;
+import bookstore.repository.book.PriceSpecificationProvider;
+import bookstore.search.BookFullTextHit;
+import bookstore.search.BookFullTextHits;
+import bookstore.search.BookFullTextSearch;
+import bookstore.search.BookHighlighter;
+import bookstore.search.BookIdPage;
+import bookstore.search.BookSearchIndex;
+import bookstore.search.BookSearchPage;
 import bookstore.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Service
 public class BookServiceImpl implements BookService {
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder bookSpecificationBuilder;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookFullTextSearch bookFullTextSearch;
+    private final ObjectMapper objectMapper;
 
     @Override
     public BookDto save(CreateBookRequestDto requestDto) {
-        Book book = bookMapper.toEntity(requestDto);
-        return bookMapper.toDto(bookRepository.save(book));
+        Book book = bookRepository.save(bookMapper.toEntity(requestDto));
+        bookSearchIndex.index(book);
+        return bookMapper.toDto(book);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable).stream()
-                .map(bookMapper::toDto)
-                .toList();
+        return withCategoryIds(bookRepository.findAllAsDtos(pageable).getContent());
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookDto findById(Long id) {
         Book book = bookRepository.findById(id).orElseThrow(() ->
                 new EntityNotFoundException("Can't find book by id " + id));
@@ -44,32 +88,199 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public void deleteById(Long id) {
         bookRepository.deleteById(id);
+        bookSearchIndex.remove(id);
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookDto updateById(Long id, CreateBookRequestDto requestDto) {
         if (!bookRepository.existsById(id)) {
             throw new EntityNotFoundException("Can't update book by id: " + id);
         }
         Book book = bookMapper.toEntity(requestDto);
         book.setId(id);
-        return bookMapper.toDto(bookRepository.save(book));
+        Book savedBook = bookRepository.save(book);
+        bookSearchIndex.index(savedBook);
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
-    public List<BookDto> search(BookSearchParameters params) {
-        Specification<Book> bookSpecification = bookSpecificationBuilder.build(params);
-        return bookRepository.findAll(bookSpecification).stream()
-                .map(bookMapper::toDto)
-                .toList();
+    public BookSearchResultDto search(BookSearchParameters params) {
+        if (params.prices() != null) {
+            Arrays.stream(params.prices()).forEach(PriceSpecificationProvider::toPrice);
+        }
+        if (params.minPrice() != null && params.maxPrice() != null
+                && params.minPrice().compareTo(params.maxPrice()) > 0) {
+            throw new InvalidSearchParameterException("minPrice can't be greater than maxPrice");
+        }
+        BookSortKey sortKey = BookSortKey.from(params.sort());
+        int limit = params.limit() == null ? DEFAULT_SEARCH_LIMIT
+                : Math.max(1, Math.min(params.limit(), MAX_SEARCH_LIMIT));
+        if (params.query() != null && !params.query().isBlank()) {
+            if (params.sort() != null && !params.sort().isBlank()
+                    && sortKey != BookSortKey.RELEVANCE) {
+                throw new InvalidSearchParameterException(
+                        "Full-text results can only be sorted by relevance");
+            }
+            return fullTextSearch(params, limit);
+        }
+        if (sortKey == BookSortKey.RELEVANCE) {
+            throw new InvalidSearchParameterException("Sorting by relevance needs a query");
+        }
+        BookSearchCursor after = params.cursor() == null || params.cursor().isBlank()
+                ? null : BookSearchCursor.decode(params.cursor(), sortKey);
+        List<BookDto> books;
+        boolean hasNext;
+        BookFacetsDto facets = null;
+        if (bookSearchIndex.isEnabled()) {
+            BookSearchPage page = bookSearchIndex.search(params, sortKey, after, limit + 1,
+                    Boolean.TRUE.equals(params.facets()));
+            long[] ids = page.ids();
+            hasNext = ids.length > limit;
+            books = findAllByIds(Arrays.copyOf(ids, Math.min(ids.length, limit)));
+            facets = page.facets();
+        } else {
+            Specification<Book> bookSpecification = bookSpecificationBuilder.build(params);
+            List<Book> found = bookRepository.findAllAfter(bookSpecification, sortKey, after,
+                    limit + 1);
+            hasNext = found.size() > limit;
+            books = toDtos(found.subList(0, Math.min(found.size(), limit)));
+        }
+        if (!hasNext || books.isEmpty()) {
+            return new BookSearchResultDto(books, null, facets, null);
+        }
+        return new BookSearchResultDto(books,
+                BookSearchCursor.of(sortKey, books.get(books.size() - 1)).encode(), facets,
+                null);
+    }
+
+    /**
+     * Takes the page of ids and the category size from the search index and
+     * reads only the books on that page. Sorting is limited to the search sort
+     * keys, by the first order of the pageable.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDtoWithoutCategoryIds> findAllByCategoryId(Long categoryId,
+                                                               Pageable pageable) {
+        if (!bookSearchIndex.isEnabled()) {
+            return bookRepository.findAllAsDtosByCategoryId(categoryId, pageable);
+        }
+        Sort.Order order = pageable.getSort().stream()
+                .findFirst()
+                .orElse(Sort.Order.asc(BookSortKey.ID.getAttribute()));
+        BookSortKey sortKey = BookSortKey.from(order.getProperty());
+        if (sortKey == BookSortKey.RELEVANCE) {
+            throw new InvalidSearchParameterException("Sorting by relevance needs a query");
+        }
+        BookIdPage page = bookSearchIndex.findByCategory(categoryId, sortKey, order.isDescending(),
+                pageable.getOffset(), pageable.getPageSize());
+        if (page.ids().length == 0) {
+            return new PageImpl<>(List.of(), pageable, page.total());
+        }
+        Map<Long, BookDtoWithoutCategoryIds> booksById = bookRepository
+                .findAllAsDtosByIdIn(Arrays.stream(page.ids()).boxed().toList())
+                .stream()
+                .collect(Collectors.toMap(BookDtoWithoutCategoryIds::getId,
+                        Function.identity()));
+        return new PageImpl<>(Arrays.stream(page.ids())
+                .mapToObj(booksById::get)
+                .filter(Objects::nonNull)
+                .toList(), pageable, page.total());
     }
 
+    /**
+     * Writes the whole catalog from a forward-only cursor. Rows of one book are
+     * adjacent, so only the book being written is held in memory.
+     */
     @Override
-    public List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long categoryId) {
-        return bookRepository.findAllByCategoryId(categoryId).stream()
-                .map(bookMapper::toDtoWithoutCategoryIds)
+    @Transactional(readOnly = true)
+    public void export(BookExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<BookExportRow> rows = bookRepository.streamAllForExport();
+                BookExportWriter writer = format.newWriter(objectMapper, outputStream)) {
+            BookDto current = null;
+            Iterator<BookExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                BookExportRow row = iterator.next();
+                if (current == null || !current.getId().equals(row.id())) {
+                    if (current != null) {
+                        writer.write(current);
+                    }
+                    current = new BookDto(row.id(), row.title(), row.author(), row.isbn(),
+                            row.price(), row.description(), row.coverImage())
+                            .setCategoryIds(new ArrayList<>());
+                }
+                if (row.categoryId() != null) {
+                    current.getCategoryIds().add(row.categoryId());
+                }
+            }
+            if (current != null) {
+                writer.write(current);
+            }
+        }
+    }
+
+    /**
+     * Pages full-text hits by offset, since relevance scores make a poor keyset.
+     * The cursor carries the offset of the next page.
+     */
+    private BookSearchResultDto fullTextSearch(BookSearchParameters params, int limit) {
+        long offset = params.cursor() == null || params.cursor().isBlank() ? 0
+                : offsetOf(BookSearchCursor.decode(params.cursor(), BookSortKey.RELEVANCE));
+        BookFullTextHits hits = bookFullTextSearch.search(params, offset, limit);
+        List<BookDto> books = findAllByIds(hits.hits().stream()
+                .mapToLong(BookFullTextHit::id)
+                .toArray());
+        Map<Long, Double> scores = hits.hits().stream()
+                .collect(Collectors.toMap(BookFullTextHit::id, BookFullTextHit::score));
+        List<BookSearchHitDto> searchHits = books.stream()
+                .map(book -> new BookSearchHitDto(book.getId(), scores.get(book.getId()),
+                        BookHighlighter.highlight(book.getDescription(), params.query())))
+                .toList();
+        long nextOffset = offset + hits.hits().size();
+        if (books.isEmpty() || nextOffset >= hits.total()) {
+            return new BookSearchResultDto(books, null, null, searchHits);
+        }
+        return new BookSearchResultDto(books, new BookSearchCursor(BookSortKey.RELEVANCE,
+                String.valueOf(nextOffset), books.get(books.size() - 1).getId()).encode(), null,
+                searchHits);
+    }
+
+    private static long offsetOf(BookSearchCursor cursor) {
+        return Math.max(0, Long.parseLong(cursor.value()));
+    }
+
+    private List<BookDto> findAllByIds(long[] ids) {
+        Map<Long, Book> booksById = bookRepository.findAllById(Arrays.stream(ids).boxed().toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return toDtos(Arrays.stream(ids)
+                .mapToObj(booksById::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private List<BookDto> withCategoryIds(List<BookDto> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        BookCategoryIds categoryIds = BookCategoryIds.of(bookRepository.findCategoryIdsByBookIds(
+                books.stream().map(BookDto::getId).toList()));
+        books.forEach(book -> book.setCategoryIds(categoryIds.get(book.getId())));
+        return books;
+    }
+
+    private List<BookDto> toDtos(List<Book> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        BookCategoryIds categoryIds = BookCategoryIds.of(bookRepository.findCategoryIdsByBookIds(
+                books.stream().map(Book::getId).toList()));
+        return books.stream()
+                .map(book -> bookMapper.toDto(book, categoryIds))
                 .toList();
     }
 }
@@ -1,14 +1,17 @@
 package bookstore.service.impl;
 
+import bookstore.config.CacheConfig;
 import bookstore.dto.category.CategoryDto;
 import bookstore.dto.category.CreateCategoryRequestDto;
 import bookstore.exception.EntityNotFoundException;
 import bookstore.mapper.CategoryMapper;
 import bookstore.model.Category;
 import bookstore.repository.category.CategoryRepository;
+import bookstore.search.BookSearchIndex;
 import bookstore.service.CategoryService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +20,7 @@ import org.springframework.stereotype.Service;
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final BookSearchIndex bookSearchIndex;
 
     @Override
     public List<CategoryDto> findAll(Pageable pageable) {
@@ -49,7 +53,9 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
     public void deleteById(Long id) {
         categoryRepository.deleteById(id);
+        bookSearchIndex.removeCategory(id);
     }
 }
@@ -6,6 +6,7 @@ import bookstore.mapper.OrderItemMapper;
 import bookstore.model.OrderItem;
 import bookstore.repository.order.OrderItemRepository;
 import bookstore.service.OrderItemService;
+import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +21,11 @@ public class OrderItemServiceImpl implements OrderItemService {
         return orderItemRepository.save(orderItem);
     }
 
+    @Override
+    public void saveAll(Collection<OrderItem> orderItems) {
+        orderItemRepository.insertAll(orderItems);
+    }
+
     @Override
     public OrderItemResponseDto findByOrderIdAndId(Long orderId, Long itemId) {
         return orderItemMapper.toDto(orderItemRepository.findByOrderIdAndId(orderId, itemId)
@@ -57,7 +57,7 @@ public class OrderServiceImpl implements OrderService {
 
         Set<OrderItem> orderItems = getOrderItemsFromCart(shoppingCart);
         orderItems.forEach(orderItem -> orderItem.setOrder(savedOrder));
-        orderItems.forEach(orderItemService::save);
+        orderItemService.saveAll(orderItems);
         order.setOrderItems(orderItems);
 
         shoppingCartService.clearShoppingCart(shoppingCart);
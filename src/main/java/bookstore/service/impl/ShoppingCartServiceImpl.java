@@ -5,17 +5,13 @@ import bookstore.dto.cartitem.CartItemQuantityRequestDto;
 import bookstore.dto.shoppingcart.ShoppingCartDto;
 import bookstore.exception.EntityNotFoundException;
 import bookstore.mapper.ShoppingCartMapper;
-import bookstore.model.Book;
 import bookstore.model.CartItem;
 import bookstore.model.ShoppingCart;
 import bookstore.model.User;
-import bookstore.repository.book.BookRepository;
 import bookstore.repository.cartitem.CartItemRepository;
 import bookstore.repository.shoppingcart.ShoppingCartRepository;
 import bookstore.service.ShoppingCartService;
 import bookstore.service.UserService;
-import java.util.Optional;
-import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -24,7 +20,6 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final ShoppingCartRepository shoppingCartRepository;
-    private final BookRepository bookRepository;
     private final CartItemRepository cartItemRepository;
     private final ShoppingCartMapper shoppingCartMapper;
     private final UserService userService;
@@ -40,24 +35,14 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     @Override
     public void addItemToCart(Authentication authentication, CartItemAddRequestDto requestDto) {
         User user = userService.getUser(authentication);
-        ShoppingCart shoppingCart = shoppingCartRepository.findById(user.getId()).orElseThrow(() ->
-                new EntityNotFoundException("Can't find shopping cart by id " + user.getId()));
-        Book bookToAdd = bookRepository.findById(requestDto.getBookId()).orElseThrow(
-                () -> new EntityNotFoundException("Can't find book with id "
-                        + requestDto.getBookId()));
-        Optional<CartItem> cartItemFromDB = shoppingCart.getCartItems().stream()
-                .filter(item -> item.getBook().getId().equals(requestDto.getBookId()))
-                .findFirst();
-        CartItem cartItemToUpdate = new CartItem();
-        if (cartItemFromDB.isPresent()) {
-            cartItemToUpdate = cartItemFromDB.get();
-            cartItemToUpdate.setQuantity(cartItemToUpdate.getQuantity() + requestDto.getQuantity());
-        } else {
-            cartItemToUpdate.setShoppingCart(shoppingCart);
-            cartItemToUpdate.setBook(bookToAdd);
-            cartItemToUpdate.setQuantity(requestDto.getQuantity());
+        if (cartItemRepository.addQuantity(user.getId(), requestDto.getBookId(),
+                requestDto.getQuantity()) > 0) {
+            return;
         }
-        cartItemRepository.save(cartItemToUpdate);
+        if (!shoppingCartRepository.existsById(user.getId())) {
+            throw new EntityNotFoundException("Can't find shopping cart by id " + user.getId());
+        }
+        throw new EntityNotFoundException("Can't find book with id " + requestDto.getBookId());
     }
 
     @Override
@@ -75,9 +60,6 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     }
 
     public void clearShoppingCart(ShoppingCart shoppingCart) {
-        Set<CartItem> cartItems = shoppingCart.getCartItems();
-        for (CartItem cartItem : cartItems) {
-            cartItemRepository.deleteById(cartItem.getId());
-        }
+        cartItemRepository.deleteAllByShoppingCartId(shoppingCart.getId());
     }
 }
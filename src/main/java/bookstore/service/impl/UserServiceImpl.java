@@ -2,7 +2,6 @@ package bookstore.service.impl;
 
 import bookstore.dto.user.UserRegistrationRequestDto;
 import bookstore.dto.user.UserResponseDto;
-import bookstore.exception.EntityNotFoundException;
 import bookstore.exception.RegistrationException;
 import bookstore.mapper.UserMapper;
 import bookstore.model.Role;
@@ -11,6 +10,8 @@ import bookstore.model.User;
 import bookstore.repository.role.RoleRepository;
 import bookstore.repository.shoppingcart.ShoppingCartRepository;
 import bookstore.repository.user.UserRepository;
+import bookstore.security.CustomUserDetailsService;
+import bookstore.security.UserPrincipal;
 import bookstore.service.UserService;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class UserServiceImpl implements UserService {
     private final ShoppingCartRepository shoppingCartRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     public UserResponseDto register(UserRegistrationRequestDto requestDto)
@@ -44,7 +46,9 @@ public class UserServiceImpl implements UserService {
     }
 
     public User getUser(Authentication authentication) {
-        return userRepository.findByEmail(authentication.getName()).orElseThrow(() ->
-                new EntityNotFoundException("Can't find user by email" + authentication.getName()));
+        Long userId = authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.id()
+                : userDetailsService.loadUserByUsername(authentication.getName()).id();
+        return userRepository.getReferenceById(userId);
     }
 }
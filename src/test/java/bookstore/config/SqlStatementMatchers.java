@@ -0,0 +1,26 @@
+package bookstore.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookstore.metrics.SqlStatementBudgetFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+public final class SqlStatementMatchers {
+    private SqlStatementMatchers() {
+    }
+
+    /**
+     * Fails the request when it executed more than {@code max} SQL statements.
+     * Requires the {@link SqlStatementBudgetFilter} in the MockMvc filter chain.
+     */
+    public static ResultMatcher sqlStatementsAtMost(int max) {
+        return result -> {
+            Integer statements = (Integer) result.getRequest()
+                    .getAttribute(SqlStatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE);
+            assertNotNull(statements, "SQL statements were not counted");
+            assertTrue(statements <= max,
+                    "Expected at most " + max + " SQL statements but was " + statements);
+        };
+    }
+}
@@ -1,15 +1,28 @@
 package bookstore.controller;
 
+import static bookstore.config.SqlStatementMatchers.sqlStatementsAtMost;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import bookstore.config.CacheConfig;
+import bookstore.dto.book.AuthorFacetDto;
 import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookImportErrorDto;
+import bookstore.dto.book.BookImportResultDto;
+import bookstore.dto.book.BookSearchResultDto;
+import bookstore.dto.book.CategoryFacetDto;
 import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.dto.book.PriceRangeFacetDto;
+import bookstore.metrics.SqlStatementBudgetFilter;
+import bookstore.search.BookSearchIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.sql.Connection;
@@ -26,8 +39,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
@@ -41,13 +57,19 @@ public class BookControllerTest {
     protected static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    @Autowired
+    private CacheManager cacheManager;
 
     @BeforeEach
     void beforeEach(
             @Autowired DataSource dataSource,
-            @Autowired WebApplicationContext applicationContext) throws SQLException {
+            @Autowired WebApplicationContext applicationContext,
+            @Autowired SqlStatementBudgetFilter sqlStatementBudgetFilter) throws SQLException {
         mockMvc = MockMvcBuilders
                 .webAppContextSetup(applicationContext)
+                .addFilters(sqlStatementBudgetFilter)
                 .apply(SecurityMockMvcConfigurers.springSecurity())
                 .build();
         try (Connection connection = dataSource.getConnection()) {
@@ -57,6 +79,8 @@ public class BookControllerTest {
                     new ClassPathResource("database/add-three-books-to-books-table.sql")
             );
         }
+        bookSearchIndex.rebuild();
+        cacheManager.getCache(CacheConfig.BOOKS_CACHE).clear();
     }
 
     @AfterEach
@@ -126,6 +150,7 @@ public class BookControllerTest {
         MvcResult result = mockMvc.perform(get("/books")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(2))
                 .andReturn();
 
         BookDto[] actual = objectMapper.readValue(result.getResponse()
@@ -135,6 +160,107 @@ public class BookControllerTest {
         assertEquals(expected, Arrays.stream(actual).toList());
     }
 
+    @WithMockUser
+    @Test
+    @DisplayName("Export all books as newline-delimited JSON with one statement")
+    public void export_Ndjson_ShouldStreamOneBookPerLine() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/export"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(1))
+                .andReturn();
+
+        assertEquals("application/x-ndjson;charset=UTF-8",
+                result.getResponse().getContentType());
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(3, lines.length);
+        BookDto last = objectMapper.readValue(lines[2], BookDto.class);
+        assertEquals("Kobzar", last.getTitle());
+        assertEquals(List.of(2L), last.getCategoryIds());
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("Export all books as CSV")
+    public void export_Csv_ShouldStreamHeaderAndRows() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\r\n");
+        assertEquals(4, lines.length);
+        assertEquals("id,title,author,isbn,price,description,coverImage,categoryIds",
+                lines[0]);
+        assertEquals("1,Harry Potter,J Rowling,123456-890,23.59,,,1", lines[1]);
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Import books from NDJSON, upserting by ISBN and reporting bad rows")
+    public void importBooks_Ndjson_ShouldUpsertByIsbnAndReportErrors() throws Exception {
+        String body = """
+                {"title":"Kobzar 2","author":"T Shevchenko","isbn":"123456-999",\
+                "price":30.00,"categoryIds":[1]}
+                {"title":"New book","author":"Author","isbn":"555-1","price":10.50}
+                {"title":"No price","author":"Author","isbn":"555-2"}
+                {"title":"Unknown category","author":"Author","isbn":"555-3",\
+                "price":1,"categoryIds":[99]}
+                not json
+                """;
+        MvcResult result = mockMvc.perform(post("/books/import")
+                        .content(body)
+                        .contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookImportResultDto actual = objectMapper.readValue(result.getResponse()
+                .getContentAsString(), BookImportResultDto.class);
+        assertEquals(5, actual.processed());
+        assertEquals(1, actual.inserted());
+        assertEquals(1, actual.updated());
+        assertEquals(3, actual.failed());
+        assertEquals(List.of(3L, 4L, 5L), actual.errors().stream()
+                .map(BookImportErrorDto::row)
+                .toList());
+        assertEquals("price must not be null", actual.errors().get(0).message());
+
+        BookDto updated = objectMapper.readValue(mockMvc.perform(get("/books/{id}", 3L))
+                .andReturn().getResponse().getContentAsString(), BookDto.class);
+        assertEquals("Kobzar 2", updated.getTitle());
+        assertEquals(List.of(1L), updated.getCategoryIds());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Import books from CSV in the export layout")
+    public void importBooks_Csv_ShouldInsertRows() throws Exception {
+        String body = "id,title,author,isbn,price,description,coverImage,categoryIds\r\n"
+                + ",\"Poems, collected\",T Shevchenko,777-1,12.00,\"Says \"\"hi\"\"\",,1;2\r\n";
+        MvcResult result = mockMvc.perform(post("/books/import")
+                        .content(body)
+                        .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookImportResultDto actual = objectMapper.readValue(result.getResponse()
+                .getContentAsString(), BookImportResultDto.class);
+        assertEquals(1, actual.inserted());
+        assertEquals(0, actual.failed());
+        String exported = mockMvc.perform(get("/books/export").param("format", "csv"))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(exported.contains(
+                ",\"Poems, collected\",T Shevchenko,777-1,12.00,\"Says \"\"hi\"\"\",,1;2\r\n"));
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("Import books requires the admin role")
+    public void importBooks_NotAdmin_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(post("/books/import")
+                        .content("{}")
+                        .contentType("application/x-ndjson"))
+                .andExpect(status().isForbidden());
+    }
+
     @WithMockUser
     @Test
     @DisplayName("Get book by id")
@@ -151,6 +277,27 @@ public class BookControllerTest {
         EqualsBuilder.reflectionEquals(expected, actual, "id");
     }
 
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Get book by id is cached until the book is deleted")
+    public void findById_AfterDelete_ShouldEvictCachedBook() throws Exception {
+        Long bookId = 1L;
+        mockMvc.perform(get("/books/{id}", bookId))
+                .andExpect(status().isOk());
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        BookDto cached = cache.get(bookId, BookDto.class);
+        assertNotNull(cached);
+        mockMvc.perform(get("/books/{id}", bookId))
+                .andExpect(status().isOk());
+        assertSame(cached, cache.get(bookId, BookDto.class));
+
+        mockMvc.perform(delete("/books/{id}", bookId))
+                .andExpect(status().isNoContent());
+        assertNull(cache.get(bookId));
+        mockMvc.perform(get("/books/{id}", bookId))
+                .andExpect(status().isNotFound());
+    }
+
     @WithMockUser
     @Test
     @DisplayName("Get book by wrong id")
@@ -227,11 +374,100 @@ public class BookControllerTest {
                 .setIsbn("123456-899")
                 .setPrice(BigDecimal.valueOf(25.59))
                 .setCategoryIds(List.of(1L)));
-        BookDto[] actual = objectMapper.readValue(result.getResponse()
-                .getContentAsByteArray(), BookDto[].class);
+        BookSearchResultDto actual = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), BookSearchResultDto.class);
         assertNotNull(actual);
-        assertEquals(2, actual.length);
-        assertEquals(expected, Arrays.stream(actual).toList());
+        assertEquals(expected, actual.books());
+        assertNull(actual.nextCursor());
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("Search books with facet counts over all matches")
+    public void search_WithFacets_ShouldReturnCountsOfAllMatches() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/search")
+                        .param("titles", "harry")
+                        .param("limit", "1")
+                        .param("facets", "true"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookSearchResultDto actual = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), BookSearchResultDto.class);
+        assertEquals(1, actual.books().size());
+        assertEquals(List.of(new CategoryFacetDto(1L, 2)), actual.facets().categories());
+        assertEquals(List.of(new AuthorFacetDto("J Rowling", 2)), actual.facets().authors());
+        assertEquals(List.of(0L, 1L, 1L, 0L, 0L), actual.facets().priceRanges().stream()
+                .map(PriceRangeFacetDto::count)
+                .toList());
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("Search books by title prefix and price range")
+    public void search_WithTitlePrefixAndPriceRange_ShouldReturnMatchingBooks() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/search")
+                        .param("titlePrefix", "harry potter")
+                        .param("minPrice", "24")
+                        .param("sort", "author"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookSearchResultDto actual = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), BookSearchResultDto.class);
+        assertEquals(List.of(2L), actual.books().stream().map(BookDto::getId).toList());
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("Search books with an empty price range")
+    public void search_WithMinPriceAboveMaxPrice_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/books/search")
+                        .param("minPrice", "30")
+                        .param("maxPrice", "20"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("Search books by a price that isn't a number")
+    public void search_WithInvalidPrice_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/books/search")
+                        .param("prices", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("Full-text search ranks by description relevance with highlights")
+    public void search_WithQuery_ShouldReturnRankedHitsAndCursor(
+            @Autowired DataSource dataSource) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE books SET description = 'A boy wizard' WHERE id = 1");
+        jdbcTemplate.update("UPDATE books SET description = 'Wizard and wizard school' "
+                + "WHERE id = 2");
+        bookSearchIndex.rebuild();
+
+        MvcResult result = mockMvc.perform(get("/books/search")
+                        .param("query", "wizard school")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookSearchResultDto firstPage = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), BookSearchResultDto.class);
+        assertEquals(List.of(2L), firstPage.books().stream().map(BookDto::getId).toList());
+        assertEquals("<em>Wizard</em> and <em>wizard</em> <em>school</em>",
+                firstPage.hits().get(0).highlight());
+        assertNotNull(firstPage.nextCursor());
+
+        MvcResult next = mockMvc.perform(get("/books/search")
+                        .param("query", "wizard school")
+                        .param("limit", "1")
+                        .param("cursor", firstPage.nextCursor()))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookSearchResultDto secondPage = objectMapper.readValue(next.getResponse()
+                .getContentAsByteArray(), BookSearchResultDto.class);
+        assertEquals(List.of(1L), secondPage.books().stream().map(BookDto::getId).toList());
+        assertNull(secondPage.nextCursor());
     }
 
     @WithMockUser
@@ -250,11 +486,37 @@ public class BookControllerTest {
                 .setIsbn("123456-999")
                 .setPrice(BigDecimal.valueOf(27.59))
                 .setCategoryIds(List.of(2L)));
-        BookDto[] actual = objectMapper.readValue(result.getResponse()
-                .getContentAsByteArray(), BookDto[].class);
+        BookSearchResultDto actual = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), BookSearchResultDto.class);
         assertNotNull(actual);
-        assertEquals(1, actual.length);
-        assertEquals(expected, Arrays.stream(actual).toList());
+        assertEquals(expected, actual.books());
+        assertNull(actual.nextCursor());
+    }
+
+    @WithMockUser
+    @Test
+    @DisplayName("Search books page by page with a cursor")
+    public void search_WithLimitAndCursor_ShouldReturnNextPage() throws Exception {
+        MvcResult firstResult = mockMvc.perform(get("/books/search")
+                        .param("sort", "price")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookSearchResultDto firstPage = objectMapper.readValue(firstResult.getResponse()
+                .getContentAsByteArray(), BookSearchResultDto.class);
+        assertEquals(List.of(1L, 2L), firstPage.books().stream().map(BookDto::getId).toList());
+        assertNotNull(firstPage.nextCursor());
+
+        MvcResult secondResult = mockMvc.perform(get("/books/search")
+                        .param("sort", "price")
+                        .param("limit", "2")
+                        .param("cursor", firstPage.nextCursor()))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookSearchResultDto secondPage = objectMapper.readValue(secondResult.getResponse()
+                .getContentAsByteArray(), BookSearchResultDto.class);
+        assertEquals(List.of(3L), secondPage.books().stream().map(BookDto::getId).toList());
+        assertNull(secondPage.nextCursor());
     }
 
     private CreateBookRequestDto createBookRequestDto() {
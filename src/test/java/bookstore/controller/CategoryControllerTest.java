@@ -6,11 +6,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.category.CategoryDto;
 import bookstore.dto.category.CreateCategoryRequestDto;
+import bookstore.search.BookSearchIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -41,6 +43,8 @@ public class CategoryControllerTest {
     protected static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
 
     @BeforeEach
     void beforeEach(
@@ -57,6 +61,7 @@ public class CategoryControllerTest {
                     new ClassPathResource("database/add-three-books-to-books-table.sql")
             );
         }
+        bookSearchIndex.rebuild();
     }
 
     @AfterEach
@@ -198,4 +203,22 @@ public class CategoryControllerTest {
         int expectedLength = 2;
         assertEquals(expectedLength, actual.length);
     }
+
+    @WithMockUser
+    @Test
+    @DisplayName("Get a sorted page of books by category id with the category size")
+    public void getBooksByCategoryId_WithPageAndSort_ShouldReturnPageAndTotalCount()
+            throws Exception {
+        MvcResult result = mockMvc.perform(get("/categories/{id}/books", 1L)
+                        .param("page", "0")
+                        .param("size", "1")
+                        .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andReturn();
+        BookDtoWithoutCategoryIds[] actual = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), BookDtoWithoutCategoryIds[].class);
+        assertEquals(1, actual.length);
+        assertEquals("Harry Potter 2", actual[0].getTitle());
+    }
 }
@@ -0,0 +1,250 @@
+package bookstore.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Boots the whole application against an in-memory H2 database in MySQL mode,
+ * seeds it through the Liquibase changelog and drives a browse/search/cart/order
+ * mix over HTTP. Runs only with the load-test profile and prints p50/p99
+ * latency, throughput and SQL statements per request.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.liquibase.change-log=classpath:db/load-test/changelog.yaml",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jwt.stateless=true"
+})
+public class LoadTest {
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final int BOOKS = Integer.getInteger("load.books", 10_000);
+    private static final int CATEGORIES = Integer.getInteger("load.categories", 20);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+    private static final int THREADS = Integer.getInteger("load.threads", 16);
+    private static final String PASSWORD = "password";
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void seedProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.liquibase.parameters.users", () -> USERS);
+        registry.add("spring.liquibase.parameters.books", () -> BOOKS);
+        registry.add("spring.liquibase.parameters.categories", () -> CATEGORIES);
+        registry.add("spring.liquibase.parameters.passwordHash",
+                () -> new BCryptPasswordEncoder().encode(PASSWORD));
+    }
+
+    @Test
+    @DisplayName("""
+          Drive a realistic request mix and report latency, throughput and statements
+            """)
+    public void run() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int user = 1; user <= USERS; user++) {
+            tokens.add(login("user" + user + "@example.com"));
+        }
+        Map<Operation, Queue<Long>> latencies = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentLinkedQueue<>());
+        }
+        AtomicInteger remaining = new AtomicInteger(REQUESTS);
+        AtomicInteger errors = new AtomicInteger();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int worker = 0; worker < THREADS; worker++) {
+            int workerIndex = worker;
+            workers.add(executor.submit(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    String token = tokens.get(userOf(workerIndex));
+                    Operation operation = Operation.next();
+                    long requestStart = System.nanoTime();
+                    int status = send(operation.request(port, token));
+                    latencies.get(operation).add(System.nanoTime() - requestStart);
+                    if (status >= 400) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : workers) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        String report = report(latencies, elapsed, statistics.getPrepareStatementCount(),
+                errors.get());
+        System.out.println(report);
+        Files.writeString(Path.of("target", reportFileName()), report);
+        assertEquals(0, errors.get());
+    }
+
+    protected String reportFileName() {
+        return "load-test-report.txt";
+    }
+
+    private int userOf(int workerIndex) {
+        int usersPerWorker = Math.max(1, USERS / THREADS);
+        int user = workerIndex + THREADS * ThreadLocalRandom.current().nextInt(usersPerWorker);
+        return user % USERS;
+    }
+
+    private String login(String email) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl(port) + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+        String body = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return body.replaceAll(".*\"token\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 599;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 599;
+        }
+    }
+
+    private static String report(Map<Operation, Queue<Long>> latencies, long elapsedNanos,
+                                 long statements, int errors) {
+        StringBuilder report = new StringBuilder(String.format(
+                "%-12s %8s %10s %10s%n", "operation", "requests", "p50 ms", "p99 ms"));
+        long total = 0;
+        List<Long> all = new ArrayList<>();
+        for (Map.Entry<Operation, Queue<Long>> entry : latencies.entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted()
+                    .toArray();
+            total += sorted.length;
+            entry.getValue().forEach(all::add);
+            report.append(String.format("%-12s %8d %10.2f %10.2f%n", entry.getKey(),
+                    sorted.length, percentile(sorted, 0.50), percentile(sorted, 0.99)));
+        }
+        long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+        double seconds = elapsedNanos / 1e9;
+        report.append(String.format("%-12s %8d %10.2f %10.2f%n", "ALL", total,
+                percentile(sorted, 0.50), percentile(sorted, 0.99)))
+                .append(String.format("throughput: %.1f requests/s%n", total / seconds))
+                .append(String.format("SQL statements per request: %.2f%n",
+                        total == 0 ? 0 : (double) statements / total))
+                .append(String.format("errors: %d%n", errors));
+        return report.toString();
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private static String baseUrl(int port) {
+        return "http://localhost:" + port;
+    }
+
+    private enum Operation {
+        BROWSE(40),
+        SEARCH(25),
+        CATEGORY(15),
+        ADD_TO_CART(15),
+        PLACE_ORDER(5);
+
+        private static final int[] CUMULATIVE_WEIGHTS = cumulativeWeights();
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation next() {
+            int roll = ThreadLocalRandom.current()
+                    .nextInt(CUMULATIVE_WEIGHTS[CUMULATIVE_WEIGHTS.length - 1]);
+            int index = Arrays.binarySearch(CUMULATIVE_WEIGHTS, roll + 1);
+            return values()[index >= 0 ? index : -index - 1];
+        }
+
+        HttpRequest request(int port, String token) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String url = baseUrl(port) + switch (this) {
+                case BROWSE -> "/books?size=20&page=" + random.nextInt(BOOKS / 20);
+                case SEARCH -> "/books/search?titles=Book%20" + (1 + random.nextInt(BOOKS));
+                case CATEGORY -> "/categories/" + (1 + random.nextInt(CATEGORIES)) + "/books";
+                case ADD_TO_CART -> "/cart";
+                case PLACE_ORDER -> "/orders";
+                default -> throw new IllegalStateException("Unknown operation " + this);
+            };
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json");
+            return switch (this) {
+                case ADD_TO_CART -> builder.POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"bookId\":" + (1 + random.nextInt(BOOKS)) + ",\"quantity\":1}"))
+                        .build();
+                case PLACE_ORDER -> builder.POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"shippingAddress\":\"Some address\"}")).build();
+                default -> builder.GET().build();
+            };
+        }
+
+        private static int[] cumulativeWeights() {
+            int[] weights = new int[values().length];
+            int sum = 0;
+            for (Operation operation : values()) {
+                sum += operation.weight;
+                weights[operation.ordinal()] = sum;
+            }
+            return weights;
+        }
+    }
+}
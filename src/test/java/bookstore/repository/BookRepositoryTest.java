@@ -1,15 +1,33 @@
 package bookstore.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.model.Book;
+import bookstore.repository.book.BookCategoryIds;
 import bookstore.repository.book.BookRepository;
+import bookstore.repository.book.BookSearchCursor;
+import bookstore.repository.book.BookSortKey;
+import bookstore.repository.book.MaxPriceSpecificationProvider;
+import bookstore.repository.book.MinPriceSpecificationProvider;
+import bookstore.repository.book.TitlePrefixSpecificationProvider;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.jdbc.Sql;
 
 @DataJpaTest
@@ -17,6 +35,8 @@ import org.springframework.test.context.jdbc.Sql;
 public class BookRepositoryTest {
     @Autowired
     private BookRepository bookRepository;
+    @Autowired
+    private TestEntityManager entityManager;
 
     @Test
     @DisplayName("""
@@ -47,4 +67,95 @@ public class BookRepositoryTest {
         assertEquals(2, actual.size());
         assertEquals("Harry Potter", actual.get(0).getTitle());
     }
+
+    @Test
+    @DisplayName("""
+          Load category ids of several books with one query
+            """)
+    @Sql(scripts = "classpath:database/add-three-books-to-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-books-from-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findCategoryIdsByBookIds_WithValidIds_ReturnsCategoryIdsPerBook() {
+        BookCategoryIds actual = BookCategoryIds.of(
+                bookRepository.findCategoryIdsByBookIds(List.of(1L, 3L, 100L)));
+        assertEquals(List.of(1L), actual.get(1L));
+        assertEquals(List.of(), actual.get(2L));
+        assertEquals(List.of(2L), actual.get(3L));
+        assertEquals(List.of(), actual.get(100L));
+    }
+
+    @Test
+    @DisplayName("""
+          Read a sorted page of books as DTOs without loading entities
+            """)
+    @Sql(scripts = "classpath:database/add-three-books-to-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-books-from-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAllAsDtos_SortedPage_ReturnsDtos() {
+        Slice<BookDto> actual = bookRepository.findAllAsDtos(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price")));
+        assertEquals(List.of("Kobzar", "Harry Potter 2"),
+                actual.map(BookDto::getTitle).getContent());
+        assertTrue(actual.hasNext());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class)
+                .getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("""
+          Read the books of a category as DTOs
+            """)
+    @Sql(scripts = "classpath:database/add-three-books-to-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-books-from-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAllAsDtosByCategoryId_WithValidId_ReturnsTwoDtos() {
+        Page<BookDtoWithoutCategoryIds> actual = bookRepository.findAllAsDtosByCategoryId(1L,
+                PageRequest.of(0, 1, Sort.by("title")));
+        assertEquals(List.of("Harry Potter"),
+                actual.map(BookDtoWithoutCategoryIds::getTitle).getContent());
+        assertEquals(2, actual.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("""
+          Read books by ids as DTOs
+            """)
+    @Sql(scripts = "classpath:database/add-three-books-to-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-books-from-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAllAsDtosByIdIn_WithValidIds_ReturnsDtos() {
+        List<BookDtoWithoutCategoryIds> actual =
+                bookRepository.findAllAsDtosByIdIn(List.of(1L, 3L, 100L));
+        assertEquals(Set.of(1L, 3L), actual.stream()
+                .map(BookDtoWithoutCategoryIds::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("""
+          Filter by title prefix and price range and page by author
+            """)
+    @Sql(scripts = "classpath:database/add-three-books-to-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-books-from-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAllAfter_WithPrefixAndPriceRange_ReturnsMatchingBooks() {
+        Specification<Book> specification = new TitlePrefixSpecificationProvider()
+                .getSpecification(new String[]{"Harry"})
+                .and(new MinPriceSpecificationProvider().getSpecification(new String[]{"23.59"}))
+                .and(new MaxPriceSpecificationProvider().getSpecification(new String[]{"25"}));
+        List<Book> actual = bookRepository.findAllAfter(specification, BookSortKey.AUTHOR,
+                null, 10);
+        assertEquals(List.of(1L), actual.stream().map(Book::getId).toList());
+
+        List<Book> afterFirst = bookRepository.findAllAfter(null, BookSortKey.AUTHOR,
+                new BookSearchCursor(BookSortKey.AUTHOR, "J Rowling", 1L), 10);
+        assertEquals(List.of(2L, 3L), afterFirst.stream().map(Book::getId).toList());
+        assertTrue(bookRepository.findAllAfter(new TitlePrefixSpecificationProvider()
+                .getSpecification(new String[]{"Harry_"}), BookSortKey.ID, null, 10).isEmpty());
+    }
 }
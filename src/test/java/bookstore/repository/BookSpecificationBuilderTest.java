@@ -0,0 +1,62 @@
+package bookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import bookstore.dto.book.BookSearchParameters;
+import bookstore.model.Book;
+import bookstore.repository.book.AuthorSpecificationProvider;
+import bookstore.repository.book.BookSpecificationBuilder;
+import bookstore.repository.book.BookSpecificationProviderManager;
+import bookstore.repository.book.MinPriceSpecificationProvider;
+import bookstore.repository.book.TitleSpecificationProvider;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BookSpecificationBuilderTest {
+    private final TitleSpecificationProvider titleProvider = new TitleSpecificationProvider();
+    private final BookSpecificationProviderManager manager = spy(
+            new BookSpecificationProviderManager(List.of(titleProvider,
+                    new AuthorSpecificationProvider(), new MinPriceSpecificationProvider())));
+    private final BookSpecificationBuilder builder = new BookSpecificationBuilder(manager);
+
+    @Test
+    @DisplayName("""
+          Providers are looked up by key and unknown or duplicate keys fail
+            """)
+    public void getSpecificationProvider_ByKey_ReturnsRegisteredProvider() {
+        assertSame(titleProvider, manager.getSpecificationProvider("title"));
+        assertThrows(RuntimeException.class, () -> manager.getSpecificationProvider("isbn"));
+        List<SpecificationProvider<Book>> duplicates = List.of(new TitleSpecificationProvider(),
+                new TitleSpecificationProvider());
+        assertThrows(IllegalStateException.class,
+                () -> new BookSpecificationProviderManager(duplicates));
+    }
+
+    @Test
+    @DisplayName("""
+          Providers of a search shape are resolved once and reused for new values
+            """)
+    public void build_WithRepeatedShape_ResolvesProvidersOnce() {
+        assertNotNull(builder.build(params("Kobzar", "T Shevchenko", "10")));
+        assertNotNull(builder.build(params("Harry Potter", "J Rowling", "20")));
+        assertNotNull(builder.build(params("Harry Potter", null, null)));
+
+        verify(manager, times(2)).getSpecificationProvider("title");
+        verify(manager, times(1)).getSpecificationProvider("author");
+        verify(manager, times(1)).getSpecificationProvider("minPrice");
+    }
+
+    private BookSearchParameters params(String title, String author, String minPrice) {
+        return new BookSearchParameters(new String[]{title},
+                author == null ? null : new String[]{author}, null, null, null, null, null,
+                minPrice == null ? null : new BigDecimal(minPrice), null, null, null, null, null,
+                null);
+    }
+}
@@ -6,19 +6,27 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import bookstore.model.CartItem;
 import bookstore.repository.cartitem.CartItemRepository;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.Optional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.jdbc.Sql;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class CartItemRepositoryTest {
     @Autowired
     private CartItemRepository cartItemRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @Test
     @DisplayName("""
@@ -52,4 +60,63 @@ public class CartItemRepositoryTest {
                 shoppingCartId);
         assertTrue(cartItem.isEmpty());
     }
+
+    @Test
+    @DisplayName("""
+          Adding an existing book increments its quantity, a deleted line is revived
+            """)
+    @Sql(scripts = "classpath:database/add-data-for-shoppingcart-cartitem-tests.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-data-for-shoppingcart-cartitem-tests.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void addQuantity_WithExistingLine_UpdatesSameRow() {
+        assertTrue(cartItemRepository.addQuantity(1L, 1L, 3) > 0);
+        assertEquals(5, cartItemRepository.findById(1L).get().getQuantity());
+
+        cartItemRepository.deleteById(1L);
+        cartItemRepository.flush();
+        assertTrue(cartItemRepository.addQuantity(1L, 1L, 4) > 0);
+        entityManager.clear();
+        assertEquals(4, cartItemRepository.findById(1L).get().getQuantity());
+        assertEquals(1, cartItemRepository.count());
+    }
+
+    @Test
+    @DisplayName("""
+          Adding to a missing cart or book changes nothing
+            """)
+    @Sql(scripts = "classpath:database/add-data-for-shoppingcart-cartitem-tests.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-data-for-shoppingcart-cartitem-tests.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void addQuantity_WithMissingCartOrBook_ReturnsZero() {
+        assertEquals(0, cartItemRepository.addQuantity(100L, 1L, 3));
+        assertEquals(0, cartItemRepository.addQuantity(1L, 100L, 3));
+    }
+
+    @Test
+    @DisplayName("""
+          Clearing a cart costs one statement whatever the number of lines
+            """)
+    @Sql(scripts = {"classpath:database/add-data-for-shoppingcart-cartitem-tests.sql",
+            "classpath:database/add-two-more-books-for-cartitem-tests.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-data-for-shoppingcart-cartitem-tests.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void deleteAllByShoppingCartId_WithAnyCartSize_RunsOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        assertEquals(1, cartItemRepository.deleteAllByShoppingCartId(1L));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        cartItemRepository.addQuantity(1L, 1L, 1);
+        cartItemRepository.addQuantity(1L, 2L, 1);
+        cartItemRepository.addQuantity(1L, 3L, 1);
+        statistics.clear();
+        assertEquals(3, cartItemRepository.deleteAllByShoppingCartId(1L));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, cartItemRepository.count());
+    }
 }
@@ -0,0 +1,108 @@
+package bookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookstore.model.Category;
+import bookstore.model.Role;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.category.BookCategoriesCacheEvictionListener;
+import bookstore.repository.category.CategoryRepository;
+import bookstore.repository.role.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BookCategoriesCacheEvictionListener.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CategoryRepositoryTest {
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("""
+          Categories are read from the second-level cache once warm
+            """)
+    @Sql(scripts = "classpath:database/add-three-books-to-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-books-from-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findById_WarmCache_DoesNotQueryDatabase() {
+        categoryRepository.findAll(PageRequest.of(0, 10));
+        categoryRepository.findById(1L);
+        statistics.clear();
+
+        assertEquals(2, categoryRepository.findAll(PageRequest.of(0, 10)).getNumberOfElements());
+        assertEquals("Fantasy", categoryRepository.findById(1L).orElseThrow().getName());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("""
+          Role lookups by name are served from the query cache once warm
+            """)
+    public void findRoleByRoleName_WarmCache_DoesNotQueryDatabase() {
+        roleRepository.findRoleByRoleName(Role.RoleName.ROLE_USER);
+        statistics.clear();
+
+        Role actual = roleRepository.findRoleByRoleName(Role.RoleName.ROLE_USER);
+
+        assertEquals(Role.RoleName.ROLE_USER, actual.getRoleName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("""
+          Deleting a category hides it from cached reads and book category collections
+            """)
+    @Sql(scripts = "classpath:database/add-three-books-to-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/delete-books-from-books-table.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void deleteById_CachedCategory_EvictsEntityAndCollections() {
+        assertEquals(1, countCategoriesOfBook(1L));
+        assertTrue(entityManagerFactory.getCache().contains(Category.class, 1L));
+
+        categoryRepository.deleteById(1L);
+
+        assertTrue(categoryRepository.findById(1L).isEmpty());
+        assertEquals(0, countCategoriesOfBook(1L));
+        assertTrue(categoryRepository.findAll(PageRequest.of(0, 10)).stream()
+                .noneMatch(category -> category.getId().equals(1L)));
+    }
+
+    private int countCategoriesOfBook(Long bookId) {
+        return transactionTemplate.execute(status ->
+                bookRepository.findById(bookId).orElseThrow().getCategories().size());
+    }
+}
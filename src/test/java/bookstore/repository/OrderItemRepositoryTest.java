@@ -0,0 +1,79 @@
+package bookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import bookstore.model.Book;
+import bookstore.model.Order;
+import bookstore.model.OrderItem;
+import bookstore.model.User;
+import bookstore.repository.order.OrderItemRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class OrderItemRepositoryTest {
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("""
+          Insert all order items of an order in one batch
+            """)
+    @Sql(scripts = {"classpath:database/add-data-for-shoppingcart-cartitem-tests.sql",
+            "classpath:database/add-two-more-books-for-cartitem-tests.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/delete-orders.sql",
+            "classpath:database/delete-data-for-shoppingcart-cartitem-tests.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void insertAll_WithSeveralItems_SavesAllItems() {
+        Order order = new Order();
+        order.setUser(entityManager.find(User.class, 1L));
+        order.setStatus(Order.Status.PENDING);
+        order.setTotal(BigDecimal.TEN);
+        order.setOrderDate(LocalDateTime.now());
+        order.setShippingAddress("SomeAddress");
+        Order savedOrder = entityManager.persistAndFlush(order);
+        List<OrderItem> orderItems = LongStream.rangeClosed(1, 3)
+                .mapToObj(bookId -> createOrderItem(savedOrder, bookId))
+                .toList();
+
+        orderItemRepository.insertAll(orderItems);
+
+        verify(jdbcTemplate).batchUpdate(anyString(),
+                argThat((List<OrderItem> items) -> items.size() == 3), eq(3),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(3, orderItemRepository.count());
+        assertEquals(2, orderItemRepository.findAll().get(0).getQuantity());
+    }
+
+    private OrderItem createOrderItem(Order order, Long bookId) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrder(order);
+        orderItem.setBook(entityManager.find(Book.class, bookId));
+        orderItem.setQuantity(2);
+        orderItem.setPrice(BigDecimal.valueOf(23.59));
+        return orderItem;
+    }
+}
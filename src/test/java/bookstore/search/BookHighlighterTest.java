@@ -0,0 +1,19 @@
+package bookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BookHighlighterTest {
+    @Test
+    @DisplayName("""
+          Query terms are marked case-insensitively and the rest is escaped
+            """)
+    public void highlight_WithMatchingTerms_MarksTermsAndEscapesText() {
+        assertEquals("<em>Wizards</em> &amp; <em>wizards</em> &lt;b&gt;school&lt;/b&gt;",
+                BookHighlighter.highlight("Wizards & wizards <b>school</b>", "WIZARDS"));
+        assertNull(BookHighlighter.highlight(null, "wizards"));
+    }
+}
@@ -0,0 +1,142 @@
+package bookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BookIdBitmapTest {
+    @Test
+    @DisplayName("""
+          Slices are taken by rank across containers in both directions
+            """)
+    public void slice_AcrossContainers_ReturnsIdsByRank() {
+        BookIdBitmap bitmap = new BookIdBitmap();
+        bitmap.add(70_000L);
+        bitmap.add(5L);
+        bitmap.add(65_536L);
+        bitmap.add(1L);
+
+        assertFalse(bitmap.add(5L));
+        assertEquals(4, bitmap.cardinality());
+        assertArrayEquals(new long[]{5L, 65_536L}, bitmap.slice(1, 2));
+        assertArrayEquals(new long[]{65_536L, 5L, 1L}, bitmap.sliceDescending(1, 5));
+        assertArrayEquals(new long[0], bitmap.slice(4, 2));
+    }
+
+    @Test
+    @DisplayName("""
+          Dense containers switch to bitmaps and back without losing ids
+            """)
+    public void addAndRemove_PastArrayLimit_KeepsSortedMembership() {
+        BookIdBitmap bitmap = new BookIdBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2 * BookIdBitmap.ARRAY_CONTAINER_LIMIT; i++) {
+            long id = 3L * i;
+            assertEquals(expected.add(id), bitmap.add(id));
+            id = 65_536L + random.nextInt(65_536);
+            assertEquals(expected.add(id), bitmap.add(id));
+        }
+        for (int i = 0; i < 2 * BookIdBitmap.ARRAY_CONTAINER_LIMIT; i += 2) {
+            long id = 3L * i;
+            assertEquals(expected.remove(id), bitmap.remove(id));
+            id = 65_536L + random.nextInt(65_536);
+            assertEquals(expected.remove(id), bitmap.remove(id));
+        }
+        long[] all = expected.stream().mapToLong(Long::longValue).toArray();
+
+        assertEquals(all.length, bitmap.cardinality());
+        assertTrue(bitmap.contains(all[all.length / 2]));
+        assertArrayEquals(all, bitmap.slice(0, all.length));
+        assertArrayEquals(Arrays.copyOfRange(all, 1000, 1100),
+                bitmap.slice(1000, 100));
+    }
+
+    @Test
+    @DisplayName("""
+          Bulk adds merge sorted runs into existing containers of both kinds
+            """)
+    public void addAll_WithSortedIds_MergesIntoContainers() {
+        long[] ids = new long[BookIdBitmap.ARRAY_CONTAINER_LIMIT + 3];
+        for (int i = 0; i < ids.length - 2; i++) {
+            ids[i] = 2L * i;
+        }
+        ids[ids.length - 2] = 65_536L;
+        ids[ids.length - 1] = 65_537L;
+        TreeSet<Long> expected = new TreeSet<>(List.of(1L, 4L, 65_537L));
+        Arrays.stream(ids).forEach(expected::add);
+        BookIdBitmap bitmap = BookIdBitmap.of(new long[]{1L, 4L, 65_537L});
+
+        bitmap.addAll(ids);
+        bitmap.addAll(new long[]{3L, 4L, 5L});
+        expected.addAll(List.of(3L, 5L));
+
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(),
+                bitmap.toArray());
+    }
+
+    @Test
+    @DisplayName("""
+          Intersection counts match across array and bitmap containers
+            """)
+    public void andCardinality_WithMixedContainers_CountsCommonIds() {
+        BookIdBitmap even = new BookIdBitmap();
+        BookIdBitmap multiplesOfThree = new BookIdBitmap();
+        for (long id = 0; id < 20_000; id++) {
+            if (id % 2 == 0) {
+                even.add(id);
+            }
+            if (id % 3 == 0) {
+                multiplesOfThree.add(id);
+            }
+        }
+        multiplesOfThree.add(65_538L);
+        even.add(65_538L);
+        BookIdBitmap sparse = BookIdBitmap.of(new long[]{0L, 3L, 6L, 7L, 65_538L});
+
+        assertEquals(3334 + 1, even.andCardinality(multiplesOfThree));
+        assertEquals(3 + 1, sparse.andCardinality(multiplesOfThree));
+        assertEquals(3 + 1, multiplesOfThree.andCardinality(sparse));
+        assertEquals(3, sparse.andCardinality(even));
+    }
+
+    @Test
+    @DisplayName("""
+          Ranks count the ids up to and including the given one
+            """)
+    public void rank_AcrossContainers_CountsSmallerAndEqualIds() {
+        BookIdBitmap bitmap = new BookIdBitmap();
+        for (long id = 0; id < 3 * BookIdBitmap.ARRAY_CONTAINER_LIMIT; id += 2) {
+            bitmap.add(id);
+        }
+        bitmap.add(65_600L);
+
+        assertEquals(0, bitmap.rank(-1L));
+        assertEquals(1, bitmap.rank(0L));
+        assertEquals(1, bitmap.rank(1L));
+        assertEquals(64, bitmap.rank(127L));
+        assertEquals(bitmap.cardinality() - 1, bitmap.rank(65_599L));
+        assertEquals(bitmap.cardinality(), bitmap.rank(65_600L));
+        assertArrayEquals(new long[]{126L, 128L}, bitmap.slice(bitmap.rank(125L), 2));
+    }
+
+    @Test
+    @DisplayName("""
+          Ids outside the 32-bit range are rejected
+            """)
+    public void add_WithOutOfRangeId_Throws() {
+        BookIdBitmap bitmap = new BookIdBitmap();
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1L));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(1L << 32));
+    }
+}
@@ -0,0 +1,305 @@
+package bookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import bookstore.dto.book.AuthorFacetDto;
+import bookstore.dto.book.BookFacetsDto;
+import bookstore.dto.book.BookSearchParameters;
+import bookstore.dto.book.CategoryFacetDto;
+import bookstore.dto.book.PriceRangeFacetDto;
+import bookstore.model.Book;
+import bookstore.repository.book.BookCategoryIdView;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.book.BookSearchCursor;
+import bookstore.repository.book.BookSortKey;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSearchIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookSearchIndex, "enabled", true);
+        ReflectionTestUtils.setField(bookSearchIndex, "priceBoundaries",
+                new BigDecimal[]{new BigDecimal("24"), new BigDecimal("27")});
+        ReflectionTestUtils.setField(bookSearchIndex, "facetLimit", 10);
+        bookSearchIndex.index(createBook(1L, "Harry Potter", "J Rowling", "123456-890", "23.59"));
+        bookSearchIndex.index(createBook(2L, "Harry Potter 2", "J Rowling", "123456-899", "25.59"));
+        bookSearchIndex.index(createBook(3L, "Kobzar", "T Shevchenko", "123456-999", "27.59"));
+    }
+
+    @Test
+    @DisplayName("""
+          Search matches token prefixes case-insensitively
+            """)
+    public void search_WithTitlePrefix_ReturnsMatchingIds() {
+        assertArrayEquals(new long[]{1L, 2L},
+                bookSearchIndex.search(params(new String[]{"harry pot"}, null, null, null)));
+        assertArrayEquals(new long[]{3L},
+                bookSearchIndex.search(params(new String[]{"KOB"}, null, null, null)));
+    }
+
+    @Test
+    @DisplayName("""
+          Search combines parameters with AND and values with OR
+            """)
+    public void search_WithSeveralParameters_ReturnsIntersection() {
+        assertArrayEquals(new long[]{1L, 3L}, bookSearchIndex.search(
+                params(null, null, new String[]{"123456890", "123456-999"}, null)));
+        assertArrayEquals(new long[]{2L}, bookSearchIndex.search(params(new String[]{"harry"},
+                new String[]{"rowling"}, null, new String[]{"25.590"})));
+    }
+
+    @Test
+    @DisplayName("""
+          Removed and updated books are reflected in search results
+            """)
+    public void search_AfterUpdateAndRemove_ReturnsCurrentIds() {
+        bookSearchIndex.remove(1L);
+        bookSearchIndex.index(createBook(3L, "Kobzar", "Taras Shevchenko", "123456-999", "27.59"));
+
+        assertArrayEquals(new long[]{2L},
+                bookSearchIndex.search(params(null, new String[]{"rowling"}, null, null)));
+        assertArrayEquals(new long[]{3L},
+                bookSearchIndex.search(params(null, new String[]{"taras"}, null, null)));
+        assertArrayEquals(new long[]{2L, 3L},
+                bookSearchIndex.search(params(null, null, null, null)));
+    }
+
+    @Test
+    @DisplayName("""
+          Keyset search continues right after the cursor in sort order
+            """)
+    public void search_WithCursor_ReturnsNextIdsInSortOrder() {
+        bookSearchIndex.index(createBook(4L, "Aeneid", "Virgil", "123456-111", "25.59"));
+        BookSearchParameters all = params(null, null, null, null);
+
+        assertArrayEquals(new long[]{4L, 1L},
+                bookSearchIndex.search(all, BookSortKey.TITLE, null, 2, false).ids());
+        assertArrayEquals(new long[]{2L, 3L}, bookSearchIndex.search(all, BookSortKey.TITLE,
+                new BookSearchCursor(BookSortKey.TITLE, "Harry Potter", 1L), 2, false).ids());
+        assertArrayEquals(new long[]{4L, 3L}, bookSearchIndex.search(all, BookSortKey.PRICE,
+                new BookSearchCursor(BookSortKey.PRICE, "25.59", 2L), 5, false).ids());
+        assertArrayEquals(new long[]{3L, 4L}, bookSearchIndex.search(all, BookSortKey.ID,
+                new BookSearchCursor(BookSortKey.ID, "2", 2L), 5, false).ids());
+    }
+
+    @Test
+    @DisplayName("""
+          Category pages and counts follow the membership of indexed books
+            """)
+    public void findByCategory_AfterIndexAndRemove_ReturnsSortedPages() {
+        List<BookCategoryIdView> firstBookRows = List.of(categoryRow(1L, 7L));
+        List<BookCategoryIdView> secondBookRows = List.of(categoryRow(2L, 7L));
+        List<BookCategoryIdView> thirdBookRows = List.of(categoryRow(3L, 7L), categoryRow(3L, 8L));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(1L))).thenReturn(firstBookRows);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(2L))).thenReturn(secondBookRows);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(3L))).thenReturn(thirdBookRows);
+        bookSearchIndex.index(createBook(1L, "Harry Potter", "J Rowling", "123456-890", "23.59"));
+        bookSearchIndex.index(createBook(2L, "Harry Potter 2", "J Rowling", "123456-899", "25.59"));
+        bookSearchIndex.index(createBook(3L, "Kobzar", "T Shevchenko", "123456-999", "21.59"));
+
+        BookIdPage byId = bookSearchIndex.findByCategory(7L, BookSortKey.ID, false, 1, 5);
+        assertArrayEquals(new long[]{2L, 3L}, byId.ids());
+        assertEquals(3, byId.total());
+        assertArrayEquals(new long[]{3L, 2L},
+                bookSearchIndex.findByCategory(7L, BookSortKey.ID, true, 0, 2).ids());
+        assertArrayEquals(new long[]{1L, 2L},
+                bookSearchIndex.findByCategory(7L, BookSortKey.PRICE, false, 1, 2).ids());
+        assertArrayEquals(new long[]{3L},
+                bookSearchIndex.findByCategory(7L, BookSortKey.TITLE, true, 0, 1).ids());
+
+        bookSearchIndex.remove(3L);
+        bookSearchIndex.removeCategory(7L);
+        assertEquals(0, bookSearchIndex.findByCategory(7L, BookSortKey.ID, false, 0, 5).total());
+        assertEquals(0, bookSearchIndex.findByCategory(8L, BookSortKey.ID, false, 0, 5).total());
+    }
+
+    @Test
+    @DisplayName("""
+          Prefixes match case-insensitively and price ranges are inclusive
+            """)
+    public void search_WithPrefixesAndPriceRange_ReturnsMatchingIds() {
+        assertArrayEquals(new long[]{1L, 2L}, bookSearchIndex.search(
+                rangeParams(" harry potter", null, null, null)));
+        assertArrayEquals(new long[]{3L}, bookSearchIndex.search(
+                rangeParams(null, "t shev", null, null)));
+        assertArrayEquals(new long[]{2L, 3L}, bookSearchIndex.search(
+                rangeParams(null, null, new BigDecimal("25.59"), new BigDecimal("27.59"))));
+        assertArrayEquals(new long[]{1L}, bookSearchIndex.search(
+                rangeParams("Harry", "J", null, new BigDecimal("25.58"))));
+        assertArrayEquals(new long[]{2L, 3L}, bookSearchIndex.search(
+                rangeParams(null, null, null, null), BookSortKey.AUTHOR,
+                new BookSearchCursor(BookSortKey.AUTHOR, "J Rowling", 1L), 5, false).ids());
+    }
+
+    @Test
+    @DisplayName("""
+          Full-text hits are ranked by BM25 over descriptions and paged
+            """)
+    public void fullText_WithQuery_RanksByRelevance() {
+        bookSearchIndex.index(createBook(4L, "Aeneid", "Virgil", "123456-111", "25.59",
+                "A wizard school story about a young wizard"));
+        bookSearchIndex.index(createBook(5L, "Beowulf", "Unknown", "123456-222", "19.99",
+                "Wizard"));
+        bookSearchIndex.index(createBook(6L, "Iliad", "Homer", "123456-333", "29.99",
+                "A story of a school"));
+
+        BookFullTextHits all = bookSearchIndex.fullText(queryParams("Wizard, school!"), 0, 10);
+        assertEquals(List.of(4L, 5L, 6L), all.hits().stream().map(BookFullTextHit::id).toList());
+        assertEquals(3, all.total());
+        assertTrue(all.hits().get(0).score() > all.hits().get(1).score());
+
+        BookFullTextHits second = bookSearchIndex.fullText(queryParams("wizard school"), 1, 1);
+        assertEquals(List.of(5L), second.hits().stream().map(BookFullTextHit::id).toList());
+        assertEquals(3, second.total());
+
+        bookSearchIndex.remove(4L);
+        assertEquals(List.of(5L), bookSearchIndex.fullText(queryParams("wizard"), 0, 10).hits()
+                .stream()
+                .map(BookFullTextHit::id)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("""
+          Facets count the matching books per category, author and price range
+            """)
+    public void facets_WithAndWithoutFilter_CountsMatchingBooks() {
+        List<BookCategoryIdView> firstBookRows = List.of(categoryRow(1L, 7L));
+        List<BookCategoryIdView> thirdBookRows = List.of(categoryRow(3L, 7L), categoryRow(3L, 8L));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(1L))).thenReturn(firstBookRows);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(3L))).thenReturn(thirdBookRows);
+        bookSearchIndex.index(createBook(1L, "Harry Potter", "J Rowling", "123456-890", "23.59"));
+        bookSearchIndex.index(createBook(3L, "Kobzar", "T Shevchenko", "123456-999", "27.59"));
+
+        BookFacetsDto all = bookSearchIndex.facets(params(null, null, null, null));
+        assertEquals(List.of(new CategoryFacetDto(7L, 2), new CategoryFacetDto(8L, 1)),
+                all.categories());
+        assertEquals(List.of(new AuthorFacetDto("J Rowling", 2),
+                new AuthorFacetDto("T Shevchenko", 1)), all.authors());
+        assertEquals(List.of(new PriceRangeFacetDto(null, new BigDecimal("24"), 1),
+                new PriceRangeFacetDto(new BigDecimal("24"), new BigDecimal("27"), 1),
+                new PriceRangeFacetDto(new BigDecimal("27"), null, 1)), all.priceRanges());
+
+        BookFacetsDto potter = bookSearchIndex.facets(
+                params(new String[]{"potter"}, null, null, null));
+        assertEquals(List.of(new CategoryFacetDto(7L, 1)), potter.categories());
+        assertEquals(List.of(new AuthorFacetDto("J Rowling", 2)), potter.authors());
+        assertEquals(List.of(1L, 1L, 0L), potter.priceRanges().stream()
+                .map(PriceRangeFacetDto::count)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("""
+          A search page carries the facets of the same matches, or none when not asked
+            """)
+    public void search_WithFacets_CountsAllMatchesOfThePage() {
+        BookSearchParameters potter = params(new String[]{"potter"}, null, null, null);
+
+        BookSearchPage page = bookSearchIndex.search(potter, BookSortKey.ID, null, 1, true);
+
+        assertArrayEquals(new long[]{1L}, page.ids());
+        assertEquals(List.of(new AuthorFacetDto("J Rowling", 2)), page.facets().authors());
+        assertNull(bookSearchIndex.search(potter, BookSortKey.ID, null, 1, false).facets());
+    }
+
+    @Test
+    @DisplayName("""
+          A deleted category disappears from the facets of indexed books
+            """)
+    public void facets_AfterRemoveCategory_OmitsDeletedCategory() {
+        List<BookCategoryIdView> firstBookRows = List.of(categoryRow(1L, 9L));
+        List<BookCategoryIdView> thirdBookRows = List.of(categoryRow(3L, 7L), categoryRow(3L, 8L));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(1L))).thenReturn(firstBookRows);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(3L))).thenReturn(thirdBookRows);
+        bookSearchIndex.index(createBook(1L, "Harry Potter", "J Rowling", "123456-890", "23.59"));
+        bookSearchIndex.index(createBook(3L, "Kobzar", "T Shevchenko", "123456-999", "27.59"));
+
+        bookSearchIndex.removeCategory(8L);
+
+        BookFacetsDto kobzar = bookSearchIndex.facets(
+                params(new String[]{"kobzar"}, null, null, null));
+        assertEquals(List.of(new CategoryFacetDto(7L, 1)), kobzar.categories());
+        assertEquals(List.of(new CategoryFacetDto(7L, 1), new CategoryFacetDto(9L, 1)),
+                bookSearchIndex.facets(params(null, null, null, null)).categories());
+    }
+
+    @Test
+    @DisplayName("""
+          The index reports itself disabled until the first build is published
+            """)
+    public void isEnabled_BeforeAndAfterRebuild_ReflectsBuiltIndex() {
+        when(bookRepository.findAllByIdGreaterThan(anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        assertFalse(bookSearchIndex.isEnabled());
+        bookSearchIndex.rebuild();
+        assertTrue(bookSearchIndex.isEnabled());
+    }
+
+    private BookCategoryIdView categoryRow(Long bookId, Long categoryId) {
+        BookCategoryIdView row = mock(BookCategoryIdView.class);
+        when(row.getBookId()).thenReturn(bookId);
+        when(row.getCategoryId()).thenReturn(categoryId);
+        return row;
+    }
+
+    private BookSearchParameters params(String[] titles, String[] authors, String[] isbns,
+                                        String[] prices) {
+        return new BookSearchParameters(titles, authors, isbns, prices, null, null, null, null,
+                null, null, null, null, null, null);
+    }
+
+    private BookSearchParameters rangeParams(String titlePrefix, String authorPrefix,
+                                             BigDecimal minPrice, BigDecimal maxPrice) {
+        return new BookSearchParameters(null, null, null, null, null, titlePrefix, authorPrefix,
+                minPrice, maxPrice, null, null, null, null, null);
+    }
+
+    private BookSearchParameters queryParams(String query) {
+        return new BookSearchParameters(null, null, null, null, null, null, null, null, null,
+                null, null, null, null, query);
+    }
+
+    private Book createBook(Long id, String title, String author, String isbn, String price,
+                            String description) {
+        Book book = createBook(id, title, author, isbn, price);
+        book.setDescription(description);
+        return book;
+    }
+
+    private Book createBook(Long id, String title, String author, String isbn, String price) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        book.setPrice(new BigDecimal(price));
+        return book;
+    }
+}
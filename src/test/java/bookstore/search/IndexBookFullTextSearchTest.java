@@ -0,0 +1,41 @@
+package bookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class IndexBookFullTextSearchTest {
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @InjectMocks
+    private IndexBookFullTextSearch indexBookFullTextSearch;
+
+    @Test
+    @DisplayName("""
+          The index backend refuses to start when the search index is disabled
+            """)
+    public void checkIndexEnabled_IndexDisabled_ThrowsIllegalStateException() {
+        ReflectionTestUtils.setField(indexBookFullTextSearch, "indexEnabled", false);
+
+        assertThrows(IllegalStateException.class,
+                () -> indexBookFullTextSearch.checkIndexEnabled());
+    }
+
+    @Test
+    @DisplayName("""
+          The index backend starts when the search index is enabled
+            """)
+    public void checkIndexEnabled_IndexEnabled_DoesNotThrow() {
+        ReflectionTestUtils.setField(indexBookFullTextSearch, "indexEnabled", true);
+
+        assertDoesNotThrow(() -> indexBookFullTextSearch.checkIndexEnabled());
+    }
+}
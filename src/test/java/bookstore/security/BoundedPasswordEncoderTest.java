@@ -0,0 +1,88 @@
+package bookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookstore.exception.PasswordHashingUnavailableException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class BoundedPasswordEncoderTest {
+    @Test
+    @DisplayName("""
+          Hashing is rejected with a retry hint once the pool and its queue are full
+            """)
+    public void encode_SaturatedPool_ThrowsPasswordHashingUnavailableException()
+            throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                blocking, 1, 1, Duration.ofSeconds(2));
+        try {
+            final CompletableFuture<String> running = CompletableFuture.supplyAsync(
+                    () -> encoder.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            final CompletableFuture<String> queued = CompletableFuture.supplyAsync(
+                    () -> encoder.encode("second"));
+            waitUntilQueued(encoder);
+
+            PasswordHashingUnavailableException exception = assertThrows(
+                    PasswordHashingUnavailableException.class, () -> encoder.encode("third"));
+            assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+
+            release.countDown();
+            assertTrue(blocking.matches("first", running.get(5, TimeUnit.SECONDS)));
+            assertTrue(blocking.matches("second", queued.get(5, TimeUnit.SECONDS)));
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("""
+          Hashes made with a lower BCrypt strength are reported for rehashing
+            """)
+    public void upgradeEncoding_WeakerStoredHash_ReturnsTrue() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(5), 1, 1, Duration.ofSeconds(1));
+        try {
+            String weak = new BCryptPasswordEncoder(4).encode("password");
+            String current = encoder.encode("password");
+
+            assertTrue(encoder.matches("password", weak));
+            assertTrue(encoder.upgradeEncoding(weak));
+            assertFalse(encoder.upgradeEncoding(current));
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    private static void waitUntilQueued(BoundedPasswordEncoder encoder)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.queuedTasks() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package bookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bookstore.model.Role;
+import bookstore.model.User;
+import io.jsonwebtoken.JwtException;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JwtUtilTest {
+    private static final String SECRET = "hellomatesqwertasdzxc1234567890vbnmjklqwert";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+    }
+
+    @Test
+    @DisplayName("""
+          Principal is rebuilt from the user id and roles stored in the token
+            """)
+    public void toPrincipal_WithClaimsToken_ReturnsUserPrincipal() {
+        Role role = new Role();
+        role.setRoleName(Role.RoleName.ROLE_ADMIN);
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("admin@example.com");
+        user.setRoles(Set.of(role));
+
+        UserPrincipal actual = jwtUtil.toPrincipal(
+                jwtUtil.parse(jwtUtil.generateToken(user.getId(), user)));
+
+        assertEquals(7L, actual.id());
+        assertEquals("admin@example.com", actual.getUsername());
+        assertEquals(List.of("ROLE_ADMIN"), actual.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("""
+          Tokens without user claims fall back to the subject only
+            """)
+    public void toPrincipal_WithSubjectOnlyToken_ReturnsNull() {
+        String token = jwtUtil.generateToken("user@example.com");
+
+        assertEquals("user@example.com", jwtUtil.parse(token).getSubject());
+        assertNull(jwtUtil.toPrincipal(jwtUtil.parse(token)));
+    }
+
+    @Test
+    @DisplayName("""
+          Tampered tokens are rejected
+            """)
+    public void parse_WithInvalidSignature_ThrowsException() {
+        String token = new JwtUtil(SECRET.toUpperCase()).generateToken("user@example.com");
+
+        assertThrows(JwtException.class, () -> jwtUtil.parse(token));
+    }
+}
@@ -0,0 +1,73 @@
+package bookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import bookstore.config.CacheConfig;
+import bookstore.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class UserCacheEvictionListenerTest {
+    private static final String EMAIL = "bob@gmail.com";
+
+    private final ConcurrentMapCacheManager cacheManager =
+            new ConcurrentMapCacheManager(CacheConfig.USERS_CACHE);
+    private final UserCacheEvictionListener listener =
+            new UserCacheEvictionListener(mock(EntityManagerFactory.class), cacheManager);
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("""
+          A deleted user stays cached until the transaction commits
+            """)
+    public void onPostDelete_InTransaction_EvictsAfterCommit() {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        cache.put(EMAIL, "principal");
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.onPostDelete(deleteEvent());
+
+        assertNotNull(cache.get(EMAIL));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.get(EMAIL));
+    }
+
+    @Test
+    @DisplayName("""
+          A deleted user is evicted right away outside a transaction
+            """)
+    public void onPostDelete_WithoutTransaction_EvictsImmediately() {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        cache.put(EMAIL, "principal");
+
+        listener.onPostDelete(deleteEvent());
+
+        assertNull(cache.get(EMAIL));
+    }
+
+    private PostDeleteEvent deleteEvent() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        return new PostDeleteEvent(user, 1L, new Object[0], mock(EntityPersister.class),
+                mock(EventSource.class));
+    }
+}
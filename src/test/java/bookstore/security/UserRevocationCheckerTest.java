@@ -0,0 +1,65 @@
+package bookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookstore.model.Role;
+import bookstore.repository.user.UserRepository;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+public class UserRevocationCheckerTest {
+    private static final Long USER_ID = 7L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserRevocationChecker checker =
+            new UserRevocationChecker(userRepository, true, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("""
+          A token is accepted while its roles match the user's roles, answered from the cache
+            """)
+    public void isActive_WithCurrentRoles_ReturnsTrueAndCaches() {
+        when(userRepository.findRoleNamesById(USER_ID))
+                .thenReturn(List.of(Role.RoleName.ROLE_USER, Role.RoleName.ROLE_ADMIN));
+
+        assertTrue(checker.isActive(principal("ROLE_ADMIN", "ROLE_USER")));
+        assertTrue(checker.isActive(principal("ROLE_ADMIN", "ROLE_USER")));
+        verify(userRepository, times(1)).findRoleNamesById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("""
+          A token still carrying a role the user lost is rejected
+            """)
+    public void isActive_WithRemovedRole_ReturnsFalse() {
+        when(userRepository.findRoleNamesById(USER_ID))
+                .thenReturn(List.of(Role.RoleName.ROLE_USER));
+
+        assertFalse(checker.isActive(principal("ROLE_ADMIN", "ROLE_USER")));
+    }
+
+    @Test
+    @DisplayName("""
+          A token of a deleted user is rejected
+            """)
+    public void isActive_WithDeletedUser_ReturnsFalse() {
+        when(userRepository.findRoleNamesById(USER_ID)).thenReturn(List.of());
+
+        assertFalse(checker.isActive(principal("ROLE_USER")));
+    }
+
+    private UserPrincipal principal(String... roles) {
+        return new UserPrincipal(USER_ID, "bob@gmail.com", null, Arrays.stream(roles)
+                .map(SimpleGrantedAuthority::new)
+                .toList());
+    }
+}
@@ -3,29 +3,40 @@ package bookstore.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.BookSearchParameters;
+import bookstore.dto.book.BookSearchResultDto;
 import bookstore.dto.book.CreateBookRequestDto;
 import bookstore.exception.EntityNotFoundException;
+import bookstore.exception.InvalidSearchParameterException;
 import bookstore.mapper.BookMapper;
 import bookstore.model.Book;
-import bookstore.model.Category;
+import bookstore.repository.book.BookCategoryIdView;
+import bookstore.repository.book.BookCategoryIds;
 import bookstore.repository.book.BookRepository;
+import bookstore.repository.book.BookSearchCursor;
+import bookstore.repository.book.BookSortKey;
 import bookstore.repository.book.BookSpecificationBuilder;
+import bookstore.search.BookFullTextSearch;
+import bookstore.search.BookIdPage;
+import bookstore.search.BookSearchIndex;
+import bookstore.search.BookSearchPage;
 import bookstore.service.impl.BookServiceImpl;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +47,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,6 +63,12 @@ public class BookServiceTest {
     @Mock
     private BookSpecificationBuilder bookSpecificationBuilder;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookFullTextSearch bookFullTextSearch;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -75,23 +95,26 @@ public class BookServiceTest {
           Verify findAll() method works
             """)
     public void findAll_ValidPageable_ReturnsAllBooks() {
-        Book book = createBook();
-        BookDto bookDto = createBookDto(book);
-
+        BookDto bookDto = createBookDto(createBook());
         Pageable pageable = PageRequest.of(0, 10);
-        List<Book> books = List.of(book);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
+        Slice<BookDto> bookSlice = new SliceImpl<>(List.of(bookDto), pageable, false);
+        BookCategoryIdView categoryIdView = mock(BookCategoryIdView.class);
+        when(categoryIdView.getBookId()).thenReturn(bookDto.getId());
+        when(categoryIdView.getCategoryId()).thenReturn(3L);
 
-        when(bookRepository.findAll(pageable)).thenReturn(bookPage);
-        when(bookMapper.toDto(book)).thenReturn(bookDto);
+        when(bookRepository.findAllAsDtos(pageable)).thenReturn(bookSlice);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(bookDto.getId())))
+                .thenReturn(List.of(categoryIdView));
 
         List<BookDto> bookDtos = bookService.findAll(pageable);
 
         assertThat(bookDtos).hasSize(1);
         assertThat(bookDtos.get(0)).isEqualTo(bookDto);
-        verify(bookRepository, times(1)).findAll(pageable);
-        verify(bookMapper, times(1)).toDto(book);
-        verifyNoMoreInteractions(bookRepository, bookMapper);
+        assertThat(bookDtos.get(0).getCategoryIds()).containsExactly(3L);
+        verify(bookRepository, times(1)).findAllAsDtos(pageable);
+        verify(bookRepository, times(1)).findCategoryIdsByBookIds(List.of(bookDto.getId()));
+        verifyNoMoreInteractions(bookRepository);
+        verifyNoInteractions(bookMapper);
     }
 
     @Test
@@ -136,6 +159,7 @@ public class BookServiceTest {
         Long bookId = 1L;
         bookService.deleteById(bookId);
         verify(bookRepository, times(1)).deleteById(bookId);
+        verify(bookSearchIndex, times(1)).remove(bookId);
         verifyNoMoreInteractions(bookRepository);
     }
 
@@ -205,8 +229,6 @@ public class BookServiceTest {
             """)
     public void search_WithValidParams_ShouldReturnCorrectBookDtos() {
         Book book = createBook();
-        Long bookId = 1L;
-
         BookDto bookDto = createBookDto(book);
         bookDto.setDescription("Awesome book");
 
@@ -216,78 +238,124 @@ public class BookServiceTest {
         String[] prices = new String[]{"26.33"};
         String[] descriptions = new String[]{};
         BookSearchParameters params = new BookSearchParameters(titles, authors, isbns, prices,
-                descriptions);
+                descriptions, null, null, null, null, null, null, null, null, null);
         Specification<Book> bookSpecification = mock(Specification.class);
         List<Book> books = List.of(book);
         List<BookDto> expectedDtos = List.of(bookDto);
 
         when(bookSpecificationBuilder.build(params)).thenReturn(bookSpecification);
-        when(bookRepository.findAll(bookSpecification)).thenReturn(books);
-        when(bookMapper.toDto(any(Book.class))).thenReturn(expectedDtos.get(0));
+        when(bookRepository.findAllAfter(bookSpecification, BookSortKey.ID, null, 21))
+                .thenReturn(books);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(book.getId())))
+                .thenReturn(List.of());
+        when(bookMapper.toDto(any(Book.class), any(BookCategoryIds.class)))
+                .thenReturn(expectedDtos.get(0));
 
-        List<BookDto> result = bookService.search(params);
+        BookSearchResultDto result = bookService.search(params);
 
-        assertEquals(expectedDtos, result);
+        assertEquals(expectedDtos, result.books());
+        assertNull(result.nextCursor());
 
         verify(bookSpecificationBuilder, times(1)).build(params);
-        verify(bookRepository, times(1)).findAll(bookSpecification);
-        verify(bookMapper, times(books.size())).toDto(any(Book.class));
+        verify(bookRepository, times(1)).findAllAfter(bookSpecification, BookSortKey.ID, null, 21);
+        verify(bookMapper, times(books.size())).toDto(any(Book.class),
+                any(BookCategoryIds.class));
+    }
+
+    @Test
+    @DisplayName("""
+          Verify search() hydrates only the requested page of indexed ids
+            """)
+    public void search_WithSearchIndex_ShouldReturnPageAndNextCursor() {
+        Book book3 = createBook();
+        book3.setId(3L);
+        Book book4 = createBook();
+        book4.setId(4L);
+        BookDto bookDto3 = createBookDto(book3);
+        BookDto bookDto4 = createBookDto(book4);
+        String cursor = new BookSearchCursor(BookSortKey.ID, "2", 2L).encode();
+        BookSearchParameters params = new BookSearchParameters(null,
+                new String[]{"rowl"}, null, null, null, null, null, null, null, "id", cursor, 2,
+                null, null);
+        BookSearchCursor after = BookSearchCursor.decode(cursor, BookSortKey.ID);
+
+        when(bookSearchIndex.isEnabled()).thenReturn(true);
+        when(bookSearchIndex.search(params, BookSortKey.ID, after, 3, false))
+                .thenReturn(new BookSearchPage(new long[]{3L, 4L, 5L}, null));
+        when(bookRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of(book4, book3));
+        when(bookRepository.findCategoryIdsByBookIds(List.of(3L, 4L))).thenReturn(List.of());
+        when(bookMapper.toDto(eq(book3), any(BookCategoryIds.class))).thenReturn(bookDto3);
+        when(bookMapper.toDto(eq(book4), any(BookCategoryIds.class))).thenReturn(bookDto4);
+
+        BookSearchResultDto result = bookService.search(params);
+
+        assertEquals(List.of(bookDto3, bookDto4), result.books());
+        assertEquals(new BookSearchCursor(BookSortKey.ID, "4", 4L),
+                BookSearchCursor.decode(result.nextCursor(), BookSortKey.ID));
+        verify(bookRepository, times(1)).findAllById(List.of(3L, 4L));
+        verify(bookRepository, times(1)).findCategoryIdsByBookIds(List.of(3L, 4L));
+        verifyNoMoreInteractions(bookRepository, bookSpecificationBuilder);
     }
 
     @Test
     @DisplayName("""
-          Verify the correct list of books was returned by category Id
+          Verify search() rejects a cursor whose value doesn't fit the sort key
             """)
-    public void findAllByCategoryId_WithValidCategoryId_ShouldReturnValidListOfBooks() {
+    public void search_WithNonNumericPriceCursor_ShouldThrowException() {
+        String cursor = new BookSearchCursor(BookSortKey.PRICE, "abc", 2L).encode();
+        BookSearchParameters params = new BookSearchParameters(null, null, null, null, null,
+                null, null, null, null, "price", cursor, 2, null, null);
+
+        assertThrows(InvalidSearchParameterException.class, () -> bookService.search(params));
+        verifyNoInteractions(bookRepository, bookSearchIndex);
+    }
+
+    @Test
+    @DisplayName("""
+          Verify a page of books by category Id is read from the index in index order
+            """)
+    public void findAllByCategoryId_WithIndex_ShouldHydrateOnlyThePage() {
+        Long categoryId = 1L;
+        BookDtoWithoutCategoryIds first = new BookDtoWithoutCategoryIds(1L, "Harry Potter",
+                "J Rowling", "12345-566", new BigDecimal("23.33"), "Awesome book", null);
+        BookDtoWithoutCategoryIds second = new BookDtoWithoutCategoryIds(2L, "Harry Potter 2",
+                "J Rowling", "12345-588", new BigDecimal("25.33"), "Awesome book", null);
+        Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "price"));
+        when(bookSearchIndex.isEnabled()).thenReturn(true);
+        when(bookSearchIndex.findByCategory(categoryId, BookSortKey.PRICE, true, 2, 2))
+                .thenReturn(new BookIdPage(new long[]{2L, 1L}, 5));
+        when(bookRepository.findAllAsDtosByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(first, second));
+
+        Page<BookDtoWithoutCategoryIds> actual =
+                bookService.findAllByCategoryId(categoryId, pageable);
+
+        assertEquals(List.of(second, first), actual.getContent());
+        assertEquals(5, actual.getTotalElements());
+        verify(bookRepository, times(1)).findAllAsDtosByIdIn(List.of(2L, 1L));
+        verifyNoMoreInteractions(bookRepository);
+        verifyNoInteractions(bookMapper);
+    }
+
+    @Test
+    @DisplayName("""
+          Verify books by category Id are paged by the database without the index
+            """)
+    public void findAllByCategoryId_WithoutIndex_ShouldReadPageFromRepository() {
         Long categoryId = 1L;
-        Category category = new Category();
-        category.setId(categoryId);
-        category.setName("Fantasy");
-        category.setDescription("Awesome category");
-
-        Book book1 = createBook();
-        book1.setDescription("Awesome book");
-        book1.setCategories(Set.of(category));
-
-        Book book2 = new Book();
-        Long bookId2 = 2L;
-        book2.setId(bookId2);
-        book2.setTitle("Harry Potter 2");
-        book2.setAuthor("J Rowling");
-        book2.setIsbn("12345-588");
-        book2.setPrice(new BigDecimal("25.33"));
-        book2.setDescription("Awesome book");
-        book2.setCategories(Set.of(category));
-
-        BookDtoWithoutCategoryIds bookDtoWithoutCategoryIds1 = new BookDtoWithoutCategoryIds();
-        bookDtoWithoutCategoryIds1.setId(book1.getId());
-        bookDtoWithoutCategoryIds1.setTitle("Harry Potter");
-        bookDtoWithoutCategoryIds1.setAuthor("J Rowling");
-        bookDtoWithoutCategoryIds1.setIsbn("12345-566");
-        bookDtoWithoutCategoryIds1.setPrice(new BigDecimal("23.33"));
-        bookDtoWithoutCategoryIds1.setDescription("Awesome book");
-
-        BookDtoWithoutCategoryIds bookDtoWithoutCategoryIds2 = new BookDtoWithoutCategoryIds();
-        bookDtoWithoutCategoryIds2.setId(bookId2);
-        bookDtoWithoutCategoryIds2.setTitle("Harry Potter 2");
-        bookDtoWithoutCategoryIds2.setAuthor("J Rowling");
-        bookDtoWithoutCategoryIds2.setIsbn("12345-588");
-        bookDtoWithoutCategoryIds2.setPrice(new BigDecimal("25.33"));
-        bookDtoWithoutCategoryIds2.setDescription("Awesome book");
-
-        List<Book> books = List.of(book1, book2);
-
-        when(bookRepository.findAllByCategoryId(categoryId)).thenReturn(books);
-        when(bookMapper.toDtoWithoutCategoryIds(book1)).thenReturn(bookDtoWithoutCategoryIds1);
-        when(bookMapper.toDtoWithoutCategoryIds(book2)).thenReturn(bookDtoWithoutCategoryIds2);
-
-        List<BookDtoWithoutCategoryIds> expectedDtos = List.of(bookDtoWithoutCategoryIds1,
-                bookDtoWithoutCategoryIds2);
-        List<BookDtoWithoutCategoryIds> actual = bookService.findAllByCategoryId(categoryId);
-
-        assertEquals(expectedDtos, actual);
-        verify(bookRepository, times(1)).findAllByCategoryId(categoryId);
-        verify(bookMapper, times(books.size())).toDtoWithoutCategoryIds(any(Book.class));
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<BookDtoWithoutCategoryIds> expected = new PageImpl<>(List.of(
+                new BookDtoWithoutCategoryIds(1L, "Harry Potter", "J Rowling", "12345-566",
+                        new BigDecimal("23.33"), "Awesome book", null)), pageable, 1);
+        when(bookSearchIndex.isEnabled()).thenReturn(false);
+        when(bookRepository.findAllAsDtosByCategoryId(categoryId, pageable)).thenReturn(expected);
+
+        Page<BookDtoWithoutCategoryIds> actual =
+                bookService.findAllByCategoryId(categoryId, pageable);
+
+        assertEquals(expected, actual);
+        verify(bookRepository, times(1)).findAllAsDtosByCategoryId(categoryId, pageable);
+        verifyNoInteractions(bookMapper);
     }
 
     private CreateBookRequestDto createBookRequestDto() {
@@ -15,6 +15,7 @@ import bookstore.exception.EntityNotFoundException;
 import bookstore.mapper.CategoryMapper;
 import bookstore.model.Category;
 import bookstore.repository.category.CategoryRepository;
+import bookstore.search.BookSearchIndex;
 import bookstore.service.impl.CategoryServiceImpl;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +36,8 @@ public class CategoryServiceTest {
     private CategoryRepository categoryRepository;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -201,6 +204,7 @@ public class CategoryServiceTest {
         Long categoryId = 1L;
         categoryService.deleteById(categoryId);
         verify(categoryRepository, times(1)).deleteById(categoryId);
+        verify(bookSearchIndex, times(1)).removeCategory(categoryId);
         verifyNoMoreInteractions(categoryRepository);
     }
 }
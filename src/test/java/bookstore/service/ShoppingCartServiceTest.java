@@ -19,14 +19,12 @@ import bookstore.model.Book;
 import bookstore.model.CartItem;
 import bookstore.model.ShoppingCart;
 import bookstore.model.User;
-import bookstore.repository.book.BookRepository;
 import bookstore.repository.cartitem.CartItemRepository;
 import bookstore.repository.shoppingcart.ShoppingCartRepository;
 import bookstore.service.impl.ShoppingCartServiceImpl;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Optional;
-import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,9 +38,6 @@ public class ShoppingCartServiceTest {
     @Mock
     private ShoppingCartRepository shoppingCartRepository;
 
-    @Mock
-    private BookRepository bookRepository;
-
     @Mock
     private CartItemRepository cartItemRepository;
 
@@ -104,53 +99,21 @@ public class ShoppingCartServiceTest {
           Verify adding an item to the shopping cart
             """)
     public void addItemToCart_WithValidCartItem_ShouldAddItemToCart() {
-        Authentication authentication = mock(Authentication.class);
-        User user = createUser();
-        Book bookToAdd = createBook();
-        CartItem cartItem = createCartItem(bookToAdd);
-        CartItemAddRequestDto requestDto = new CartItemAddRequestDto();
-        requestDto.setBookId(cartItem.getBook().getId());
-        requestDto.setQuantity(cartItem.getQuantity());
-        ShoppingCart shoppingCart = createShoppingCart(user);
-
-        when(userService.getUser(authentication)).thenReturn(user);
-        when(shoppingCartRepository.findById(shoppingCart.getId()))
-                .thenReturn(Optional.of(shoppingCart));
-        when(bookRepository.findById(requestDto.getBookId())).thenReturn(Optional.of(bookToAdd));
-        when(cartItemRepository.save(any(CartItem.class))).thenReturn(null);
-
-        shoppingCartService.addItemToCart(authentication, requestDto);
-
-        verify(userService, times(1)).getUser(authentication);
-        verify(shoppingCartRepository, times(1)).findById(user.getId());
-        verify(bookRepository, times(1)).findById(requestDto.getBookId());
-        verify(cartItemRepository, times(1)).save(any(CartItem.class));
-    }
-
-    @Test
-    @DisplayName("""
-          Verify adding an item to the shopping cart when item exists
-            """)
-    public void addItemToCart_WithValidExistingCartItem_ShouldAddItemToCart() {
         Authentication authentication = mock(Authentication.class);
         User user = createUser();
         Book bookToAdd = createBook();
         CartItemAddRequestDto requestDto = new CartItemAddRequestDto();
         requestDto.setBookId(bookToAdd.getId());
         requestDto.setQuantity(10);
-        ShoppingCart shoppingCart = mock(ShoppingCart.class);
-        CartItem existingCartItem = createCartItem(bookToAdd);
 
         when(userService.getUser(authentication)).thenReturn(user);
-        when(shoppingCartRepository.findById(user.getId())).thenReturn(Optional.of(shoppingCart));
-        when(bookRepository.findById(requestDto.getBookId())).thenReturn(Optional.of(bookToAdd));
-        when(cartItemRepository.save(any(CartItem.class))).thenReturn(null);
-        when(shoppingCart.getCartItems()).thenReturn(new HashSet<>(Set.of(existingCartItem)));
+        when(cartItemRepository.addQuantity(user.getId(), bookToAdd.getId(), 10)).thenReturn(1);
 
         shoppingCartService.addItemToCart(authentication, requestDto);
 
-        verify(cartItemRepository, times(1)).save(any(CartItem.class));
-        assertEquals(15, existingCartItem.getQuantity());
+        verify(userService, times(1)).getUser(authentication);
+        verify(cartItemRepository, times(1)).addQuantity(user.getId(), bookToAdd.getId(), 10);
+        verifyNoMoreInteractions(shoppingCartRepository, cartItemRepository);
     }
 
     @Test
@@ -161,9 +124,12 @@ public class ShoppingCartServiceTest {
         Authentication authentication = mock(Authentication.class);
         User user = createUser();
         CartItemAddRequestDto requestDto = new CartItemAddRequestDto();
+        requestDto.setBookId(1L);
+        requestDto.setQuantity(10);
 
         when(userService.getUser(authentication)).thenReturn(user);
-        when(shoppingCartRepository.findById(user.getId())).thenReturn(Optional.empty());
+        when(cartItemRepository.addQuantity(user.getId(), 1L, 10)).thenReturn(0);
+        when(shoppingCartRepository.existsById(user.getId())).thenReturn(false);
 
         Exception exception = assertThrows(EntityNotFoundException.class,
                 () -> shoppingCartService.addItemToCart(authentication, requestDto));
@@ -172,8 +138,7 @@ public class ShoppingCartServiceTest {
 
         assertEquals(expected, actual);
         verify(userService, times(1)).getUser(authentication);
-        verify(shoppingCartRepository, times(1)).findById(user.getId());
-        verifyNoMoreInteractions(bookRepository, cartItemRepository);
+        verify(shoppingCartRepository, times(1)).existsById(user.getId());
     }
 
     @Test
@@ -187,12 +152,10 @@ public class ShoppingCartServiceTest {
         Long bookId = 100L;
         requestDto.setBookId(bookId);
         requestDto.setQuantity(10);
-        ShoppingCart shoppingCart = createShoppingCart(user);
 
         when(userService.getUser(authentication)).thenReturn(user);
-        when(shoppingCartRepository.findById(shoppingCart.getId()))
-                .thenReturn(Optional.of(shoppingCart));
-        when(bookRepository.findById(requestDto.getBookId())).thenReturn(Optional.empty());
+        when(cartItemRepository.addQuantity(user.getId(), bookId, 10)).thenReturn(0);
+        when(shoppingCartRepository.existsById(user.getId())).thenReturn(true);
 
         Exception exception = assertThrows(EntityNotFoundException.class,
                 () -> shoppingCartService.addItemToCart(authentication, requestDto));
@@ -201,8 +164,7 @@ public class ShoppingCartServiceTest {
 
         assertEquals(expected, actual);
         verify(userService, times(1)).getUser(authentication);
-        verify(shoppingCartRepository, times(1)).findById(user.getId());
-        verify(bookRepository, times(1)).findById(requestDto.getBookId());
+        verify(shoppingCartRepository, times(1)).existsById(user.getId());
     }
 
     @Test
@@ -297,21 +259,13 @@ public class ShoppingCartServiceTest {
           Verify if clearShoppingCart() method works
             """)
     public void clearShoppingCart_WithValidShoppingCart_ShouldDeleteItemsFromCart() {
-        Book bookToAdd = createBook();
-        CartItem cartItem1 = createCartItem(bookToAdd);
-        CartItem cartItem2 = createCartItem(bookToAdd);
-        cartItem2.setId(2L);
-        Set<CartItem> cartItems = new HashSet<>();
-        cartItems.add(cartItem1);
-        cartItems.add(cartItem2);
         User user = createUser();
         ShoppingCart shoppingCart = createShoppingCart(user);
-        shoppingCart.setCartItems(cartItems);
 
         shoppingCartService.clearShoppingCart(shoppingCart);
 
-        verify(cartItemRepository, times(1)).deleteById(cartItem1.getId());
-        verify(cartItemRepository, times(1)).deleteById(cartItem2.getId());
+        verify(cartItemRepository, times(1)).deleteAllByShoppingCartId(shoppingCart.getId());
+        verifyNoMoreInteractions(cartItemRepository);
     }
 
     private ShoppingCart createShoppingCart(User user) {
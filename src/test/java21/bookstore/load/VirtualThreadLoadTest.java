@@ -0,0 +1,19 @@
+package bookstore.load;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the {@link LoadTest} mix with Tomcat on virtual threads, so the java21 and
+ * load-test profiles together print a platform and a virtual-thread report side by
+ * side: {@code mvn -Pload-test,java21 test -Dload.threads=400}. Use more client
+ * threads than Tomcat's 200 workers, otherwise both modes measure the same thing.
+ */
+@Tag("load")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+public class VirtualThreadLoadTest extends LoadTest {
+    @Override
+    protected String reportFileName() {
+        return "virtual-thread-load-test-report.txt";
+    }
+}
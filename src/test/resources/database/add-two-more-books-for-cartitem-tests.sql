@@ -0,0 +1,5 @@
+INSERT INTO books (id, title, author, isbn, price)
+VALUES (2, 'Harry Potter 2', 'J Rowling', '123456-899', 25.59);
+
+INSERT INTO books (id, title, author, isbn, price)
+VALUES (3, 'Kobzar', 'T Shevchenko', '123456-999', 27.59);